@@ -1,8 +1,26 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.ObjLongConsumer;
 
 public class WordTracker {
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 256L << 20;
+    // Largest array length every JVM allows.
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
     public String sentence;
+    public Path file;
     public Map<String, Integer> wordCounts;
 
     public WordTracker(String sentence) {
@@ -10,15 +28,22 @@ public class WordTracker {
         this.wordCounts = new HashMap<>();
     }
 
+    // File mode: the file is memory-mapped and counted in parallel, splitting words on whitespace.
+    public WordTracker(Path file) {
+        this.file = file;
+        this.wordCounts = new HashMap<>();
+    }
+
+    // Words are counted in a WordCountTable, without a String or a boxed Integer per occurrence,
+    // and only the totals are added to wordCounts: one entry per distinct word.
     public void countWords() {
-        String[] words = sentence.split(" ");
-        for (String word : words) {
-            if (wordCounts.containsKey(word)) {
-                wordCounts.put(word, wordCounts.get(word) + 1);
-            } else {
-                wordCounts.put(word, 1);
-            }
+        WordCountTable counts = new WordCountTable();
+        if (file != null) {
+            countFileWords(counts);
+        } else {
+            countSentenceWords(counts);
         }
+        counts.forEach((word, count) -> wordCounts.merge(word, Math.toIntExact(count), Math::addExact));
     }
 
     public int getWordFrequency(String word) {
@@ -31,7 +56,243 @@ public class WordTracker {
         }
     }
 
+    // Same tokens as sentence.split(" "): empty words between adjacent spaces count, trailing ones
+    // are dropped, and an empty sentence is one empty word. Words are counted as UTF-8 slices of a
+    // single encoded copy of the sentence, so no String is built per word.
+    private void countSentenceWords(WordCountTable wordCounts) {
+        byte[] bytes = sentence.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0) {
+            wordCounts.increment(bytes, 0, 0);
+            return;
+        }
+        int pendingEmptyWords = 0;
+        int start = 0;
+        for (int i = 0; i <= bytes.length; i++) {
+            if (i < bytes.length && bytes[i] != ' ') {
+                continue;
+            }
+            if (i == start) {
+                pendingEmptyWords++;
+            } else {
+                if (pendingEmptyWords > 0) {
+                    wordCounts.add(bytes, start, 0, WordCountTable.hash(bytes, start, 0), pendingEmptyWords);
+                    pendingEmptyWords = 0;
+                }
+                wordCounts.increment(bytes, start, i - start);
+            }
+            start = i + 1;
+        }
+    }
+
+    private void countFileWords(WordCountTable wordCounts) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<WordCountTable> partialCounts = splitOnWordBoundaries(channel).parallelStream()
+                .map(chunk -> countChunk(channel, chunk[0], chunk[1]))
+                .toList();
+            for (WordCountTable partial : partialCounts) {
+                wordCounts.addAll(partial);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Splits the file into [start, end) ranges that each end on a whitespace byte, so no word
+    // straddles two chunks. A few chunks per core keeps the workers evenly loaded.
+    private static List<long[]> splitOnWordBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int cores = Runtime.getRuntime().availableProcessors();
+        long targetSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size / (cores * 4L)));
+
+        List<long[]> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = start + targetSize >= size ? size : nextWhitespace(channel, start + targetSize, size);
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long nextWhitespace(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (isWhitespace(buffer.get(i))) {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    // UTF-8 never uses ASCII whitespace bytes inside a multi-byte character, so splitting on raw
+    // bytes and decoding each word separately is safe.
+    private static WordCountTable countChunk(FileChannel channel, long start, long end) {
+        MappedByteBuffer mapped;
+        try {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        WordCountTable counts = new WordCountTable();
+        byte[] word = new byte[64];
+        int length = 0;
+        int limit = mapped.limit();
+        for (int i = 0; i <= limit; i++) {
+            byte b = i < limit ? mapped.get(i) : (byte) ' ';
+            if (isWhitespace(b)) {
+                if (length > 0) {
+                    counts.increment(word, 0, length);
+                    length = 0;
+                }
+            } else {
+                if (length == word.length) {
+                    word = Arrays.copyOf(word, grownLength(length, length + 1));
+                }
+                word[length++] = b;
+            }
+        }
+        return counts;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    // Doubles an array length, or grows it to what is needed if that is more. Past the largest
+    // array the JVM allows it throws instead of wrapping to a negative length.
+    private static int grownLength(int current, long needed) {
+        if (needed > MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("Word data exceeds the largest array (" + MAX_ARRAY_LENGTH + " entries)");
+        }
+        return (int) Math.min(MAX_ARRAY_LENGTH, Math.max(current * 2L, needed));
+    }
+
+    // Open-addressing hash table from UTF-8 word bytes to long counts. Keys are copied once, on first
+    // sight, into a shared byte arena; after that an increment is one linear probe with no
+    // allocation. Slots are empty while their count is zero. Counts are longs so a large mapped
+    // file cannot wrap them; the arena and slot arrays throw rather than overflow their int indexes.
+    private static final class WordCountTable {
+        private static final int INITIAL_CAPACITY = 1024;
+        // Largest power-of-two slot count, so the probe mask keeps working.
+        private static final int MAX_CAPACITY = 1 << 30;
+
+        private byte[] keyBytes = new byte[INITIAL_CAPACITY * 8];
+        private int keyBytesUsed;
+        private int[] hashes = new int[INITIAL_CAPACITY];
+        private int[] keyOffsets = new int[INITIAL_CAPACITY];
+        private int[] keyLengths = new int[INITIAL_CAPACITY];
+        private long[] counts = new long[INITIAL_CAPACITY];
+        private int size;
+
+        static int hash(byte[] key, int offset, int length) {
+            int h = 0x811C9DC5;
+            for (int i = offset; i < offset + length; i++) {
+                h = (h ^ key[i]) * 0x01000193;
+            }
+            return h ^ (h >>> 16);
+        }
+
+        void increment(byte[] key, int offset, int length) {
+            add(key, offset, length, hash(key, offset, length), 1);
+        }
+
+        void add(byte[] key, int offset, int length, int hash, long delta) {
+            int mask = counts.length - 1;
+            int slot = hash & mask;
+            while (counts[slot] != 0) {
+                if (hashes[slot] == hash && keyEquals(slot, key, offset, length)) {
+                    counts[slot] = Math.addExact(counts[slot], delta);
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            keyOffsets[slot] = storeKey(key, offset, length);
+            keyLengths[slot] = length;
+            counts[slot] = delta;
+            if (++size * 2 > counts.length) {
+                resize();
+            }
+        }
+
+        void addAll(WordCountTable other) {
+            for (int slot = 0; slot < other.counts.length; slot++) {
+                if (other.counts[slot] != 0) {
+                    add(other.keyBytes, other.keyOffsets[slot], other.keyLengths[slot], other.hashes[slot], other.counts[slot]);
+                }
+            }
+        }
+
+        void forEach(ObjLongConsumer<String> action) {
+            for (int slot = 0; slot < counts.length; slot++) {
+                if (counts[slot] != 0) {
+                    action.accept(new String(keyBytes, keyOffsets[slot], keyLengths[slot], StandardCharsets.UTF_8), counts[slot]);
+                }
+            }
+        }
+
+        private boolean keyEquals(int slot, byte[] key, int offset, int length) {
+            int storedOffset = keyOffsets[slot];
+            return keyLengths[slot] == length
+                && Arrays.equals(keyBytes, storedOffset, storedOffset + length, key, offset, offset + length);
+        }
+
+        private int storeKey(byte[] key, int offset, int length) {
+            if ((long) keyBytesUsed + length > keyBytes.length) {
+                keyBytes = Arrays.copyOf(keyBytes, grownLength(keyBytes.length, (long) keyBytesUsed + length));
+            }
+            System.arraycopy(key, offset, keyBytes, keyBytesUsed, length);
+            int stored = keyBytesUsed;
+            keyBytesUsed += length;
+            return stored;
+        }
+
+        // Only the slot arrays are rehashed; keys stay where they are in the arena.
+        private void resize() {
+            int[] oldHashes = hashes;
+            int[] oldOffsets = keyOffsets;
+            int[] oldLengths = keyLengths;
+            long[] oldCounts = counts;
+            if (oldCounts.length > MAX_CAPACITY / 2) {
+                throw new IllegalStateException("More than " + MAX_CAPACITY / 2 + " distinct words");
+            }
+            int capacity = oldCounts.length * 2;
+            hashes = new int[capacity];
+            keyOffsets = new int[capacity];
+            keyLengths = new int[capacity];
+            counts = new long[capacity];
+            int mask = capacity - 1;
+            for (int old = 0; old < oldCounts.length; old++) {
+                if (oldCounts[old] == 0) {
+                    continue;
+                }
+                int slot = oldHashes[old] & mask;
+                while (counts[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[old];
+                keyOffsets[slot] = oldOffsets[old];
+                keyLengths[slot] = oldLengths[old];
+                counts[slot] = oldCounts[old];
+            }
+        }
+    }
+
     public static void main(String[] args) {
+        if (args.length > 0) {
+            WordTracker tracker = new WordTracker(Path.of(args[0]));
+            tracker.countWords();
+            tracker.printFrequencies();
+            return;
+        }
         WordTracker tracker = new WordTracker("hello world hello again world");
         tracker.countWords();
         tracker.printFrequencies();
@@ -0,0 +1,81 @@
+package org.example.policymanagement.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding and decoding of policies with the same Jackson setup Spring MVC uses, for a single
+ * record and for list responses of increasing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolicyJsonBenchmark {
+
+    private static final TypeReference<List<Policy>> POLICY_LIST = new TypeReference<>() {};
+
+    @State(Scope.Benchmark)
+    public static class SinglePolicy {
+        final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Policy policy;
+        byte[] json;
+
+        @Setup
+        public void setUp() throws Exception {
+            policy = new Policy("Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+            json = objectMapper.writeValueAsBytes(policy);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PolicyList {
+        @Param({"100", "10000"})
+        int size;
+
+        final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Policy> policies;
+        byte[] json;
+
+        @Setup
+        public void setUp() throws Exception {
+            policies = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                policies.add(new Policy("Business " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365), 1000.00 + i));
+            }
+            json = objectMapper.writeValueAsBytes(policies);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeSingle(SinglePolicy state) throws Exception {
+        return state.objectMapper.writeValueAsBytes(state.policy);
+    }
+
+    @Benchmark
+    public Policy deserializeSingle(SinglePolicy state) throws Exception {
+        return state.objectMapper.readValue(state.json, Policy.class);
+    }
+
+    @Benchmark
+    public byte[] serializeList(PolicyList state) throws Exception {
+        return state.objectMapper.writeValueAsBytes(state.policies);
+    }
+
+    @Benchmark
+    public List<Policy> deserializeList(PolicyList state) throws Exception {
+        return state.objectMapper.readValue(state.json, POLICY_LIST);
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.policymanagement.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of policy lists as JSON and as CBOR, the two formats the API negotiates.
+ * Both mappers share the Jackson setup Spring MVC uses. The encoded size of each list is printed
+ * at setup so the payload saving can be read next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolicyWireFormatBenchmark {
+
+    private static final TypeReference<List<Policy>> POLICY_LIST = new TypeReference<>() {};
+
+    @Param({"json", "cbor"})
+    String format;
+
+    @Param({"100", "10000"})
+    int size;
+
+    ObjectMapper objectMapper;
+    List<Policy> policies;
+    byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper = "cbor".equals(format) ? builder.factory(new CBORFactory()).build() : builder.build();
+        policies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            policies.add(new Policy("Business " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365), 1000.00 + i));
+        }
+        encoded = objectMapper.writeValueAsBytes(policies);
+        System.out.printf("%n%s, %d policies: %d bytes (%.1f per policy)%n",
+            format, size, encoded.length, (double) encoded.length / size);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return objectMapper.writeValueAsBytes(policies);
+    }
+
+    @Benchmark
+    public List<Policy> decode() throws Exception {
+        return objectMapper.readValue(encoded, POLICY_LIST);
+    }
+}
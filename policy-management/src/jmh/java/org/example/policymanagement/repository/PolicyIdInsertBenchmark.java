@@ -0,0 +1,109 @@
+package org.example.policymanagement.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.service.PolicyIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput with random and time-ordered policy ids, from eight concurrent writers on a
+ * fresh Postgres container per strategy. The table is seeded first so the primary-key index is
+ * well beyond a few pages. At the end of each trial the size of that index across its quarterly
+ * partitions, and their average leaf density and fragmentation, are printed from
+ * {@code pgstatindex}. Random keys split leaf pages all over the index, while time-ordered ones
+ * fill pages left to right.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class PolicyIdInsertBenchmark {
+
+    private static final int SEED_ROWS = 200_000;
+    private static final int ROWS_PER_INSERT = 100;
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    PolicyProperties.IdStrategy strategy;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private PolicyRepository policyRepository;
+    private PolicyIdGenerator policyIdGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"));
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+        policyRepository = new PolicyRepository(jdbcTemplate);
+        PolicyPartitionRepository partitionRepository = new PolicyPartitionRepository(jdbcTemplate);
+        for (int month = 1; month <= 12; month += 3) {
+            partitionRepository.createPartition(LocalDate.of(2024, month, 1));
+        }
+        PolicyProperties properties = new PolicyProperties();
+        properties.getIds().setStrategy(strategy);
+        policyIdGenerator = new PolicyIdGenerator(properties);
+        for (int i = 0; i < SEED_ROWS; i += 10_000) {
+            policyRepository.saveAll(newPolicies(10_000), 1_000);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // policies_pkey is partitioned and has no storage of its own; its partitions' indexes do.
+        Map<String, Object> stats = jdbcTemplate.queryForMap(
+            "SELECT pg_size_pretty(sum(s.index_size)) AS size, round(avg(s.avg_leaf_density)::numeric, 2) AS density, " +
+            "round(avg(s.leaf_fragmentation)::numeric, 2) AS fragmentation " +
+            "FROM pg_partition_tree('policies_pkey') t, LATERAL pgstatindex(t.relid) s " +
+            "WHERE t.isleaf AND t.relid <> 'policies_default_pkey'::regclass");
+        System.out.printf("%n%s ids: policies_pkey %s, leaf density %s%%, leaf fragmentation %s%%%n",
+            strategy, stats.get("size"), stats.get("density"), stats.get("fragmentation"));
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void insertBatch() {
+        policyRepository.saveAll(newPolicies(ROWS_PER_INSERT), ROWS_PER_INSERT);
+    }
+
+    private List<Policy> newPolicies(int count) {
+        List<Policy> policies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            policies.add(new Policy(
+                policyIdGenerator.next(), "Benchmark Corp " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365), 1000.00 + i));
+        }
+        return policies;
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.policymanagement.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.policymanagement.model.Policy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end repository round trips against a throwaway Postgres container, seeded with enough
+ * rows that lookups go through the primary-key index rather than a tiny heap. The seed year has
+ * its quarterly partitions, so id lookups probe each partition's key and range pages read one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PolicyRepositoryBenchmark {
+
+    private static final int SEED_ROWS = 10_000;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private PolicyRepository policyRepository;
+    private UUID[] seededIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"));
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        policyRepository = new PolicyRepository(jdbcTemplate);
+        PolicyPartitionRepository partitionRepository = new PolicyPartitionRepository(jdbcTemplate);
+        for (int month = 1; month <= 12; month += 3) {
+            partitionRepository.createPartition(LocalDate.of(2024, month, 1));
+        }
+        List<Policy> seed = new ArrayList<>(SEED_ROWS);
+        for (int i = 0; i < SEED_ROWS; i++) {
+            seed.add(new Policy("Business " + i, LocalDate.of(2024, 1, 1).plusDays(i % 365), 1000.00 + i));
+        }
+        policyRepository.saveAll(seed, 1_000);
+        seededIds = seed.stream().map(Policy::getId).toArray(UUID[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public Optional<Policy> findById() {
+        return policyRepository.findById(seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)]);
+    }
+
+    @Benchmark
+    public List<Policy> findByCoveragePeriodQuarter() {
+        LocalDate from = LocalDate.of(2024, 1 + 3 * ThreadLocalRandom.current().nextInt(4), 1);
+        return policyRepository.findByCoveragePeriod(from, from.plusMonths(3).minusDays(1), null, null, 50);
+    }
+
+    @Benchmark
+    public Policy saveNew() {
+        return policyRepository.save(new Policy("Benchmark Corp", LocalDate.of(2024, 12, 31), 100000.00));
+    }
+
+    @Benchmark
+    public Policy saveExisting() {
+        UUID id = seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)];
+        return policyRepository.save(new Policy(id, "Benchmark Corp", LocalDate.of(2024, 12, 31), 100000.00));
+    }
+}
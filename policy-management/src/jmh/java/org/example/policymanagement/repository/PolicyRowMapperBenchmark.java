@@ -0,0 +1,65 @@
+package org.example.policymanagement.repository;
+
+import org.example.policymanagement.model.Policy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning one result-set row into a {@link Policy}, isolated from the driver and network
+ * by reading from an in-memory {@link CachedRowSet}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PolicyRowMapperBenchmark {
+
+    private CachedRowSet resultSet;
+
+    @Setup
+    public void setUp() throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(5);
+        defineColumn(metaData, 1, "id", Types.VARCHAR);
+        defineColumn(metaData, 2, "business_name", Types.VARCHAR);
+        defineColumn(metaData, 3, "coverage_period", Types.DATE);
+        defineColumn(metaData, 4, "coverage_amount", Types.DOUBLE);
+        defineColumn(metaData, 5, "version", Types.BIGINT);
+
+        resultSet = RowSetProvider.newFactory().createCachedRowSet();
+        resultSet.setMetaData(metaData);
+        resultSet.moveToInsertRow();
+        resultSet.updateString(1, UUID.randomUUID().toString());
+        resultSet.updateString(2, "Acme Corp");
+        resultSet.updateDate(3, Date.valueOf("2024-12-31"));
+        resultSet.updateDouble(4, 100000.00);
+        resultSet.updateLong(5, 0L);
+        resultSet.insertRow();
+        resultSet.moveToCurrentRow();
+    }
+
+    @Benchmark
+    public Policy mapRow() throws SQLException {
+        resultSet.absolute(1);
+        return PolicyRepository.POLICY_MAPPER.mapRow(resultSet, 0);
+    }
+
+    private static void defineColumn(RowSetMetaDataImpl metaData, int index, String name, int type) throws SQLException {
+        metaData.setColumnName(index, name);
+        metaData.setColumnLabel(index, name);
+        metaData.setColumnType(index, type);
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.policymanagement.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.policymanagement.config.GuardedDataSource;
+import org.example.policymanagement.model.Policy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of concurrent lookups served by a Tomcat-sized platform pool versus one virtual thread per
+ * request, both behind the same 10-connection guarded pool. Each operation is one whole burst, so
+ * the sampled time distribution's upper percentiles are the burst's tail latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ThreadModeBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    String threads;
+
+    @Param({"200", "2000"})
+    int burst;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource hikari;
+    private ExecutorService executor;
+    private PolicyRepository policyRepository;
+    private UUID[] seededIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"));
+        postgres.start();
+
+        hikari = new HikariDataSource();
+        hikari.setJdbcUrl(postgres.getJdbcUrl());
+        hikari.setUsername(postgres.getUsername());
+        hikari.setPassword(postgres.getPassword());
+        hikari.setMaximumPoolSize(POOL_SIZE);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(hikari);
+
+        GuardedDataSource dataSource = new GuardedDataSource(hikari, POOL_SIZE, Duration.ofSeconds(30));
+        policyRepository = new PolicyRepository(new JdbcTemplate(dataSource));
+        List<Policy> seed = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            seed.add(new Policy("Business " + i, LocalDate.of(2024, 12, 31), 1000.00 + i));
+        }
+        policyRepository.saveAll(seed, 1_000);
+        seededIds = seed.stream().map(Policy::getId).toArray(UUID[]::new);
+
+        executor = threads.equals("virtual")
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        hikari.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int burstOfLookups() throws Exception {
+        List<Future<?>> requests = new ArrayList<>(burst);
+        for (int i = 0; i < burst; i++) {
+            UUID id = seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)];
+            requests.add(executor.submit(() -> policyRepository.findById(id)));
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+        return requests.size();
+    }
+}
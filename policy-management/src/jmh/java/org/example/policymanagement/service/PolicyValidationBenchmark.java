@@ -0,0 +1,59 @@
+package org.example.policymanagement.service;
+
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.exception.PolicyValidationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation cost on the create and update paths. The rejected case includes building the
+ * {@link PolicyValidationException}, which dominates when clients send bad input in volume.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PolicyValidationBenchmark {
+
+    private final PolicyProperties properties = new PolicyProperties();
+    private final PolicyService policyService = new PolicyService(
+        null,
+        null,
+        properties,
+        new PolicyCache(properties),
+        new PolicyNameIndex(null, null, properties),
+        new PolicyWriteBuffer(null, null, null, properties),
+        new PolicyIdGenerator(properties),
+        new RecentPolicyWrites(properties),
+        null
+    );
+    private final UUID id = UUID.randomUUID();
+    private final LocalDate coveragePeriod = LocalDate.of(2024, 12, 31);
+
+    @Benchmark
+    public void validateCreateAccepted() {
+        policyService.validateCreatePolicy("Acme Corp", coveragePeriod, 100000.00);
+    }
+
+    @Benchmark
+    public PolicyValidationException validateCreateRejected() {
+        try {
+            policyService.validateCreatePolicy("Acme Corp", coveragePeriod, 0.0);
+            throw new IllegalStateException("Expected validation to fail");
+        } catch (PolicyValidationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void validateUpdateAccepted() {
+        policyService.validateUpdatePolicy(id, null, coveragePeriod, 150000.00);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.policymanagement.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.repository.CoverageAggregateRepository;
+import org.example.policymanagement.repository.PolicyRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-policy inserts from 64 concurrent callers, each committed on its own versus grouped by the
+ * write buffer. Reports inserts per second across all threads and, in sample mode, the per-insert
+ * latency the grouping adds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class PolicyWriteBufferBenchmark {
+
+    @Param({"direct", "buffered"})
+    String mode;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private PolicyWriteBuffer writeBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"));
+        postgres.start();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        PolicyProperties properties = new PolicyProperties();
+        properties.getWriteBuffer().setEnabled(mode.equals("buffered"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        writeBuffer = new PolicyWriteBuffer(
+            new PolicyRepository(jdbcTemplate),
+            new CoverageAggregateRepository(jdbcTemplate),
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+            properties
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        writeBuffer.close();
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public Policy insert() {
+        return writeBuffer.insert(new Policy("Benchmark Corp", LocalDate.of(2024, 12, 31), 100000.00));
+    }
+}
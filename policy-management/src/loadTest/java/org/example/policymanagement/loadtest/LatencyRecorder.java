@@ -0,0 +1,60 @@
+package org.example.policymanagement.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcomes of one operation during the measured part of a run. Every successful latency is kept,
+ * so percentiles are exact rather than bucketed; at the rates this harness targets that is a few
+ * megabytes at most. Errors are counted by HTTP status or exception and their latencies left out,
+ * so fast rejections such as 503s cannot flatter the percentiles.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[4_096];
+    private int successes;
+    private final Map<String, Long> errors = new TreeMap<>();
+
+    synchronized void success(long latencyNanos) {
+        if (successes == latencies.length) {
+            latencies = Arrays.copyOf(latencies, successes * 2);
+        }
+        latencies[successes++] = latencyNanos;
+    }
+
+    synchronized void failure(String reason) {
+        errors.merge(reason, 1L, Long::sum);
+    }
+
+    synchronized LoadTestReport.Latencies summarize(Duration measured) {
+        long[] sorted = Arrays.copyOf(latencies, successes);
+        Arrays.sort(sorted);
+        long errorCount = errors.values().stream().mapToLong(Long::longValue).sum();
+        return new LoadTestReport.Latencies(
+            successes + errorCount,
+            successes,
+            errorCount,
+            new TreeMap<>(errors),
+            successes / (measured.toNanos() / 1e9),
+            millis(percentile(sorted, 0.50)),
+            millis(percentile(sorted, 0.99)),
+            millis(percentile(sorted, 0.999)),
+            millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])
+        );
+    }
+
+    // Nearest-rank percentile: the smallest latency at least the given share of calls did not exceed.
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
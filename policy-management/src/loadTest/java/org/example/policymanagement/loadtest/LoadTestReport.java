@@ -0,0 +1,65 @@
+package org.example.policymanagement.loadtest;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * What a load test run measured, written as JSON to {@code build/results/load-test/results.json}
+ * so runs before and after a capacity change can be compared. Latencies are in milliseconds and
+ * run from each request's scheduled start, not from when it was actually sent.
+ *
+ * @param dropped requests not sent because {@code max-in-flight} were already outstanding
+ * @param maxScheduleLagMillis latest the generator itself sent a request after its scheduled
+ *     start; when this is large the generator, not the server, was the bottleneck
+ */
+record LoadTestReport(
+    Instant startedAt,
+    String target,
+    Settings settings,
+    Latencies total,
+    long dropped,
+    double maxScheduleLagMillis,
+    Map<String, Latencies> operations
+) {
+
+    record Settings(
+        double targetRate,
+        String arrival,
+        String duration,
+        String warmup,
+        Map<String, Integer> mix,
+        int maxInFlight
+    ) {}
+
+    /**
+     * @param throughput successful requests per second over the measured duration
+     */
+    record Latencies(
+        long requests,
+        long successes,
+        long errors,
+        Map<String, Long> errorsByCause,
+        double throughput,
+        double p50,
+        double p99,
+        double p999,
+        double max
+    ) {}
+
+    void print(PrintStream out) {
+        out.printf("%nLoad test against %s at %.0f req/s (%s arrivals) for %s%n",
+            target, settings.targetRate(), settings.arrival(), settings.duration());
+        out.printf("%-8s %10s %10s %8s %10s %10s %10s %10s%n",
+            "", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach((name, latencies) -> print(out, name, latencies));
+        print(out, "total", total);
+        out.printf("dropped %d, max schedule lag %.1f ms%n", dropped, maxScheduleLagMillis);
+    }
+
+    private static void print(PrintStream out, String name, Latencies latencies) {
+        out.printf("%-8s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+            name, latencies.requests(), latencies.throughput(), latencies.errors(),
+            latencies.p50(), latencies.p99(), latencies.p999(), latencies.max());
+    }
+}
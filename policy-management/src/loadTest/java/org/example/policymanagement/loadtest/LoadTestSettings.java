@@ -0,0 +1,94 @@
+package org.example.policymanagement.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parameters of a load test run, read from {@code loadtest.*} system properties. The Gradle
+ * {@code loadTest} task sets them from {@code -PloadRate}, {@code -PloadDuration} and so on.
+ *
+ * @param rate requests started per second, whatever the server's response time
+ * @param warmup load applied before measuring starts, so the JIT, caches and pools settle
+ * @param mix relative weight of each operation, for example {@code get=70,create=10}
+ * @param baseUrl server to load; when null the application is started in-process
+ */
+record LoadTestSettings(
+    double rate,
+    Duration duration,
+    Duration warmup,
+    Map<PolicyOperation, Integer> mix,
+    ArrivalProcess arrival,
+    int seedPolicies,
+    int maxInFlight,
+    Duration requestTimeout,
+    URI baseUrl,
+    Path report
+) {
+
+    /** How the gaps between request start times are drawn. */
+    enum ArrivalProcess {
+        /** Evenly spaced starts, 1/rate apart. */
+        CONSTANT,
+        /** Exponentially distributed gaps averaging 1/rate, like independent clients. */
+        POISSON
+    }
+
+    private static final String PREFIX = "loadtest.";
+
+    LoadTestSettings {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be greater than zero");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("loadtest.duration must be positive");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadtest.mix must give at least one operation a positive weight");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("loadtest.max-in-flight must be greater than zero");
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        String baseUrl = System.getProperty(PREFIX + "base-url");
+        return new LoadTestSettings(
+            Double.parseDouble(property("rate", "200")),
+            DurationStyle.detectAndParse(property("duration", "60s")),
+            DurationStyle.detectAndParse(property("warmup", "15s")),
+            parseMix(property("mix", "create=20,get=50,update=15,list=10,delete=5")),
+            ArrivalProcess.valueOf(property("arrival", "poisson").toUpperCase(Locale.ROOT)),
+            Integer.parseInt(property("seed-policies", "1000")),
+            Integer.parseInt(property("max-in-flight", "10000")),
+            DurationStyle.detectAndParse(property("request-timeout", "30s")),
+            baseUrl == null || baseUrl.isBlank() ? null : URI.create(baseUrl),
+            Path.of(property("report", "build/results/load-test/results.json"))
+        );
+    }
+
+    static Map<PolicyOperation, Integer> parseMix(String mix) {
+        Map<PolicyOperation, Integer> weights = new EnumMap<>(PolicyOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in loadtest.mix, got '" + entry + "'");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights in loadtest.mix must not be negative");
+            }
+            weights.put(PolicyOperation.fromKey(parts[0]), weight);
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.policymanagement.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts requests on a fixed arrival schedule, each on its own virtual thread, however many are
+ * still outstanding. A slow server therefore faces a growing backlog, as it would from real
+ * clients, instead of a closed loop that waits for each response and quietly lowers the load.
+ * Latency is measured from a request's scheduled start, so time a request spent waiting to be
+ * sent counts too and stalls are not hidden from the percentiles.
+ *
+ * <p>The schedule runs for the warmup and then the measured duration; only requests scheduled
+ * after the warmup are recorded.
+ */
+final class OpenModelLoadGenerator {
+
+    private final LoadTestSettings settings;
+    private final PolicyApiClient client;
+    private final PolicyIdPool ids;
+    private final PolicyOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<PolicyOperation, LatencyRecorder> recorders = new EnumMap<>(PolicyOperation.class);
+    private final LatencyRecorder total = new LatencyRecorder();
+    private final AtomicLong dropped = new AtomicLong();
+    private long maxScheduleLagNanos;
+
+    OpenModelLoadGenerator(LoadTestSettings settings, PolicyApiClient client, PolicyIdPool ids) {
+        this.settings = settings;
+        this.client = client;
+        this.ids = ids;
+        Map<PolicyOperation, Integer> weighted = new EnumMap<>(settings.mix());
+        weighted.values().removeIf(weight -> weight == 0);
+        this.operations = weighted.keySet().toArray(PolicyOperation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weighted.get(operations[i]);
+            cumulativeWeights[i] = sum;
+            recorders.put(operations[i], new LatencyRecorder());
+        }
+    }
+
+    LoadTestReport run(String target) {
+        Instant startedAt = Instant.now();
+        double meanGapNanos = 1e9 / settings.rate();
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // The offset from start is a double so that rounding each gap does not drift the rate.
+            double offset = 0;
+            while (start + (long) offset < end) {
+                long startAt = start + (long) offset;
+                waitUntil(startAt);
+                boolean measured = startAt >= measureFrom;
+                if (measured) {
+                    maxScheduleLagNanos = Math.max(maxScheduleLagNanos, System.nanoTime() - startAt);
+                }
+                PolicyOperation operation = nextOperation();
+                if (inFlight.tryAcquire()) {
+                    executor.execute(() -> {
+                        try {
+                            send(operation, startAt, measured);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else if (measured) {
+                    dropped.incrementAndGet();
+                }
+                offset += nextGap(meanGapNanos);
+            }
+        }
+        return report(startedAt, target);
+    }
+
+    private void send(PolicyOperation operation, long startAt, boolean measured) {
+        String error = null;
+        try {
+            int status = switch (operation) {
+                case CREATE -> {
+                    HttpResponse<String> response = client.create();
+                    if (isSuccess(response.statusCode())) {
+                        ids.add(client.createdId(response));
+                    }
+                    yield response.statusCode();
+                }
+                case GET -> withPolicy(ids.pick(), client::get);
+                case UPDATE -> withPolicy(ids.pick(), client::update);
+                case DELETE -> withPolicy(ids.take(), client::delete);
+                case LIST -> client.list();
+            };
+            if (status < 0) {
+                error = "no policy to target";
+            } else if (!isSuccess(status)) {
+                error = String.valueOf(status);
+            }
+        } catch (IOException | RuntimeException e) {
+            error = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!measured) {
+            return;
+        }
+        if (error == null) {
+            long latency = System.nanoTime() - startAt;
+            recorders.get(operation).success(latency);
+            total.success(latency);
+        } else {
+            recorders.get(operation).failure(error);
+            total.failure(error);
+        }
+    }
+
+    // -1 when no created policy is left to aim at; the call is then reported as an error.
+    private static int withPolicy(UUID id, PolicyCall call) throws IOException, InterruptedException {
+        return id == null ? -1 : call.send(id);
+    }
+
+    private PolicyOperation nextOperation() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Draw beyond the total weight");
+    }
+
+    private double nextGap(double meanGapNanos) {
+        return switch (settings.arrival()) {
+            case CONSTANT -> meanGapNanos;
+            case POISSON -> -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos;
+        };
+    }
+
+    private LoadTestReport report(Instant startedAt, String target) {
+        Duration measured = settings.duration();
+        Map<String, LoadTestReport.Latencies> byOperation = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> byOperation.put(operation.key(), recorder.summarize(measured)));
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        settings.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        return new LoadTestReport(
+            startedAt,
+            target,
+            new LoadTestReport.Settings(
+                settings.rate(),
+                settings.arrival().name().toLowerCase(Locale.ROOT),
+                settings.duration().toString(),
+                settings.warmup().toString(),
+                mix,
+                settings.maxInFlight()
+            ),
+            total.summarize(measured),
+            dropped.get(),
+            Math.round(maxScheduleLagNanos / 1_000.0) / 1_000.0,
+            byOperation
+        );
+    }
+
+    private static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PolicyCall {
+        int send(UUID id) throws IOException, InterruptedException;
+    }
+}
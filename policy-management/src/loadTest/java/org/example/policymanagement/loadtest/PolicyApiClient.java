@@ -0,0 +1,128 @@
+package org.example.policymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.policymanagement.dto.BatchCreatePolicyResponse;
+import org.example.policymanagement.dto.BatchCreatePolicyResult;
+import org.example.policymanagement.dto.CreatePolicyRequest;
+import org.example.policymanagement.dto.UpdatePolicyRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The policy endpoints a load test calls, over one HTTP/1.1 client. Only creates read the
+ * response body; every other response is drained and discarded, so the generator spends as
+ * little as possible per request.
+ */
+class PolicyApiClient {
+
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final String JSON = "application/json";
+
+    private final HttpClient httpClient;
+    private final URI policies;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper;
+
+    PolicyApiClient(URI baseUrl, Duration requestTimeout, ObjectMapper objectMapper) {
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(requestTimeout)
+            .build();
+        this.policies = baseUrl.resolve("/api/policies");
+        this.requestTimeout = requestTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Creates {@code count} policies through the batch endpoint and returns their ids. */
+    List<UUID> seed(int count) throws IOException, InterruptedException {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int start = 0; start < count; start += SEED_BATCH_SIZE) {
+            List<CreatePolicyRequest> batch = new ArrayList<>();
+            for (int i = start; i < Math.min(count, start + SEED_BATCH_SIZE); i++) {
+                batch.add(newPolicy());
+            }
+            HttpResponse<String> response = httpClient.send(
+                post(URI.create(policies + "/batch"), batch), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding policies failed with status " + response.statusCode());
+            }
+            objectMapper.readValue(response.body(), BatchCreatePolicyResponse.class).results().stream()
+                .map(BatchCreatePolicyResult::id)
+                .filter(Objects::nonNull)
+                .forEach(ids::add);
+        }
+        return ids;
+    }
+
+    /** Creates a policy and returns the response, whose body holds the new policy. */
+    HttpResponse<String> create() throws IOException, InterruptedException {
+        return httpClient.send(post(policies, newPolicy()), HttpResponse.BodyHandlers.ofString());
+    }
+
+    UUID createdId(HttpResponse<String> response) throws IOException {
+        return UUID.fromString(objectMapper.readTree(response.body()).get("id").asText());
+    }
+
+    int get(UUID id) throws IOException, InterruptedException {
+        return discard(request(policy(id)).GET());
+    }
+
+    int update(UUID id) throws IOException, InterruptedException {
+        UpdatePolicyRequest update = new UpdatePolicyRequest(null, null, randomAmount(), null);
+        return discard(request(policy(id))
+            .header("Content-Type", JSON)
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(update))));
+    }
+
+    int list() throws IOException, InterruptedException {
+        return discard(request(URI.create(policies + "?limit=50")).GET());
+    }
+
+    int delete(UUID id) throws IOException, InterruptedException {
+        return discard(request(policy(id)).DELETE());
+    }
+
+    private int discard(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest post(URI uri, Object body) throws IOException {
+        return request(uri)
+            .header("Content-Type", JSON)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(requestTimeout).header("Accept", JSON);
+    }
+
+    private URI policy(UUID id) {
+        return URI.create(policies + "/" + id);
+    }
+
+    // Coverage periods spread over the coming year, so writes touch several partitions.
+    private static CreatePolicyRequest newPolicy() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new CreatePolicyRequest(
+            "Load Test " + random.nextInt(1_000_000),
+            LocalDate.now().plusDays(random.nextInt(365)),
+            randomAmount()
+        );
+    }
+
+    private static double randomAmount() {
+        return Math.round(ThreadLocalRandom.current().nextDouble(1_000, 1_000_000) * 100) / 100.0;
+    }
+}
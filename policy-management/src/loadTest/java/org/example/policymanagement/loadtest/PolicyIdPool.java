@@ -0,0 +1,43 @@
+package org.example.policymanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids of the policies the load test has created and not yet deleted, which gets, updates and
+ * deletes pick from at random. A delete takes its id out before the request is sent, so later
+ * calls do not aim at a policy that is about to disappear.
+ */
+final class PolicyIdPool {
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    synchronized void add(UUID id) {
+        ids.add(id);
+    }
+
+    synchronized void addAll(Collection<UUID> added) {
+        ids.addAll(added);
+    }
+
+    /** A random id, or null when the pool is empty. */
+    synchronized UUID pick() {
+        return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /** Removes and returns a random id, or null when the pool is empty. */
+    synchronized UUID take() {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        int index = ThreadLocalRandom.current().nextInt(ids.size());
+        UUID id = ids.get(index);
+        // Fill the gap with the last id so removal does not shift the list.
+        ids.set(index, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.policymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.example.policymanagement.PolicyManagementApplication;
+import org.example.policymanagement.TestcontainersConfiguration;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Entry point of {@code ./gradlew loadTest}. Starts {@link PolicyManagementApplication} on a
+ * random port against the Testcontainers Postgres from {@link TestcontainersConfiguration}, or
+ * targets {@code loadtest.base-url} when given, seeds policies, runs the load and writes the
+ * report. Program arguments go to the application, so a setting such as
+ * {@code --policy.admission.enabled=true} can be compared run against run.
+ */
+public final class PolicyLoadTest {
+
+    private PolicyLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ConfigurableApplicationContext context = null;
+        URI baseUrl = settings.baseUrl();
+        if (baseUrl == null) {
+            String[] applicationArgs = Stream.concat(Stream.of("--server.port=0"), Arrays.stream(args))
+                .toArray(String[]::new);
+            context = SpringApplication.from(PolicyManagementApplication::main)
+                .with(TestcontainersConfiguration.class)
+                .run(applicationArgs)
+                .getApplicationContext();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = URI.create("http://localhost:" + port);
+        }
+        try {
+            ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+            PolicyApiClient client = new PolicyApiClient(baseUrl, settings.requestTimeout(), objectMapper);
+            PolicyIdPool ids = new PolicyIdPool();
+            ids.addAll(client.seed(settings.seedPolicies()));
+
+            LoadTestReport report = new OpenModelLoadGenerator(settings, client, ids).run(baseUrl.toString());
+
+            Path reportFile = settings.report().toAbsolutePath();
+            Files.createDirectories(reportFile.getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+            report.print(System.out);
+            System.out.println("Report written to " + reportFile);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+}
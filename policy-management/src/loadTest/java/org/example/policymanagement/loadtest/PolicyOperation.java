@@ -0,0 +1,20 @@
+package org.example.policymanagement.loadtest;
+
+import java.util.Locale;
+
+/** The policy API calls a load test mixes, each weighted by {@code loadtest.mix}. */
+enum PolicyOperation {
+    CREATE,
+    GET,
+    UPDATE,
+    LIST,
+    DELETE;
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static PolicyOperation fromKey(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.policymanagement.config;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps how many callers run at once. Callers beyond the limit wait in arrival order, but only up
+ * to {@code queueCapacity} of them and for at most {@code maxWait}; anyone else is turned away
+ * immediately so that an overload fails fast instead of stretching every caller's latency.
+ *
+ * <p>When adaptive, the limit follows latency as in Netflix's gradient limiter. A slow-moving
+ * average of recent latency is the baseline and a fast-moving one is the current reading. While
+ * the current reading stays within {@code latencyTolerance} times the baseline, the limit grows
+ * by about its square root. Beyond that it shrinks in proportion to the slowdown, by at most
+ * half per step. Both averages see the same mix of calls, so cheap ones such as cache hits do not
+ * skew the comparison.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double LONG_WEIGHT = 1.0 / 500;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private final PolicyProperties.Bulkhead config;
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double shortLatency = Double.NaN;
+    private double longLatency = Double.NaN;
+
+    public AdaptiveConcurrencyLimiter(PolicyProperties.Bulkhead config) {
+        this.config = config;
+        this.limit = Math.clamp(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit());
+    }
+
+    /** Outcome of {@link #acquire()}. */
+    public enum Admission { ADMITTED, QUEUE_FULL, TIMED_OUT }
+
+    public Admission acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit && waiting == 0) {
+                inFlight++;
+                return Admission.ADMITTED;
+            }
+            if (waiting >= config.getQueueCapacity()) {
+                return Admission.QUEUE_FULL;
+            }
+            waiting++;
+            try {
+                long remaining = config.getMaxWait().toNanos();
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return Admission.TIMED_OUT;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return Admission.ADMITTED;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Ends an admitted call that took {@code latency}; pass null when it failed and says nothing about load. */
+    public void release(Duration latency) {
+        lock.lock();
+        try {
+            int concurrency = inFlight;
+            inFlight--;
+            if (latency != null && config.isAdaptive()) {
+                adjustLimit(latency.toNanos(), concurrency);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int waiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjustLimit(long latencyNanos, int concurrency) {
+        double sample = Math.max(latencyNanos, 1);
+        if (Double.isNaN(longLatency)) {
+            longLatency = sample;
+            shortLatency = sample;
+        }
+        shortLatency += (sample - shortLatency) * SHORT_WEIGHT;
+        longLatency += (sample - longLatency) * LONG_WEIGHT;
+        // After a long slow spell, let the baseline catch up with recovered latency quickly.
+        if (longLatency > shortLatency * 2) {
+            longLatency *= 0.95;
+        }
+        // An under-used limit says nothing about capacity in either direction.
+        if (concurrency < (int) limit / 2) {
+            return;
+        }
+        double gradient = Math.clamp(config.getLatencyTolerance() * longLatency / shortLatency, 0.5, 1.0);
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.clamp(limit + (target - limit) * SMOOTHING, config.getMinLimit(), config.getMaxLimit());
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.policymanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.policymanagement.exception.PolicyServiceOverloadedException;
+import org.example.policymanagement.exception.PolicyValidationException;
+import org.example.policymanagement.service.DatabaseAccess;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admits {@link DatabaseAccess} methods through separate read and write bulkheads, so a burst of
+ * one kind cannot starve the other of connections. Runs outside the transaction advice: a caller
+ * waits for admission before a connection is taken, and a rejected caller never takes one.
+ * Rejections surface as 503 with {@code Retry-After}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "policy.admission", name = "enabled", havingValue = "true")
+public class AdmissionControlAspect implements MeterBinder {
+
+    private final Map<DatabaseAccess.Kind, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(DatabaseAccess.Kind.class);
+    private final Duration retryAfter;
+    private MeterRegistry registry;
+
+    public AdmissionControlAspect(PolicyProperties properties) {
+        PolicyProperties.Admission config = properties.getAdmission();
+        limiters.put(DatabaseAccess.Kind.READ, new AdaptiveConcurrencyLimiter(config.getRead()));
+        limiters.put(DatabaseAccess.Kind.WRITE, new AdaptiveConcurrencyLimiter(config.getWrite()));
+        this.retryAfter = config.getRetryAfter();
+    }
+
+    @Around("@annotation(access)")
+    public Object admit(ProceedingJoinPoint joinPoint, DatabaseAccess access) throws Throwable {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(access.value());
+        AdaptiveConcurrencyLimiter.Admission admission = limiter.acquire();
+        if (admission != AdaptiveConcurrencyLimiter.Admission.ADMITTED) {
+            reject(access.value(), admission);
+        }
+        long start = System.nanoTime();
+        Duration latency = null;
+        try {
+            Object result = joinPoint.proceed();
+            latency = Duration.ofNanos(System.nanoTime() - start);
+            return result;
+        } catch (PolicyValidationException e) {
+            // Rejected input still ran its queries, if any; it is a normal sample.
+            latency = Duration.ofNanos(System.nanoTime() - start);
+            throw e;
+        } finally {
+            limiter.release(latency);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        limiters.forEach((kind, limiter) -> {
+            String bulkhead = kind.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("policy.admission.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Calls the bulkhead currently admits at once")
+                .tag("bulkhead", bulkhead)
+                .register(registry);
+            Gauge.builder("policy.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Admitted calls still running")
+                .tag("bulkhead", bulkhead)
+                .register(registry);
+            Gauge.builder("policy.admission.queued", limiter, AdaptiveConcurrencyLimiter::waiting)
+                .description("Calls waiting for admission")
+                .tag("bulkhead", bulkhead)
+                .register(registry);
+        });
+    }
+
+    private void reject(DatabaseAccess.Kind kind, AdaptiveConcurrencyLimiter.Admission admission) {
+        if (registry != null) {
+            Counter.builder("policy.admission.rejected")
+                .description("Calls turned away because the bulkhead was saturated")
+                .tag("bulkhead", kind.name().toLowerCase(Locale.ROOT))
+                .tag("reason", admission.name().toLowerCase(Locale.ROOT))
+                .register(registry)
+                .increment();
+        }
+        throw new PolicyServiceOverloadedException("Too many concurrent " + kind.name().toLowerCase(Locale.ROOT) + "s", retryAfter);
+    }
+}
@@ -0,0 +1,290 @@
+package org.example.policymanagement.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "policy")
+public class PolicyProperties {
+
+    @Valid
+    private final Batch batch = new Batch();
+
+    @Valid
+    private final Cache cache = new Cache();
+
+    @Valid
+    private final DatasourceGuard datasourceGuard = new DatasourceGuard();
+
+    @Valid
+    private final Export export = new Export();
+
+    @Valid
+    private final Updates updates = new Updates();
+
+    @Valid
+    private final NameIndex nameIndex = new NameIndex();
+
+    @Valid
+    private final BulkImport bulkImport = new BulkImport();
+
+    @Valid
+    private final WriteBuffer writeBuffer = new WriteBuffer();
+
+    @Valid
+    private final ChangeFeed changeFeed = new ChangeFeed();
+
+    @Valid
+    private final Ids ids = new Ids();
+
+    @Valid
+    private final Admission admission = new Admission();
+
+    @Valid
+    private final QueryProfiling queryProfiler = new QueryProfiling();
+
+    @Valid
+    private final ReadReplica readReplica = new ReadReplica();
+
+    @Valid
+    private final Partitions partitions = new Partitions();
+
+    @Data
+    public static class Batch {
+        /** Rows sent to the database per JDBC batch when creating policies in bulk. */
+        @Positive
+        private int chunkSize = 500;
+
+        /**
+         * Most policies accepted in one batch create. The whole batch is one transaction, so this
+         * also bounds how long that transaction holds its connection and locks.
+         */
+        @Positive
+        private int maxSize = 5_000;
+    }
+
+    @Data
+    public static class Cache {
+        /** Upper bound on cached lookups, found and not found combined. Zero disables caching. */
+        @PositiveOrZero
+        private long maximumSize = 10_000;
+
+        /** How long a found policy stays cached after it was loaded or written. */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /** How long a lookup that found nothing stays cached. */
+        private Duration negativeTtl = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class DatasourceGuard {
+        /** Callers allowed to hold a connection at once. Zero means the Hikari pool size. */
+        @PositiveOrZero
+        private int maxConcurrent = 0;
+
+        /** How long a caller waits for a permit before failing. */
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Export {
+        /** Rows the JDBC cursor fetches per round trip while streaming an export. */
+        @Positive
+        private int fetchSize = 1_000;
+    }
+
+    @Data
+    public static class Updates {
+        /** Reject with 428 an update that gives neither a version nor If-Match, instead of applying it unconditionally. */
+        private boolean requireVersion = false;
+    }
+
+    @Data
+    public static class NameIndex {
+        /** Serve business-name autocomplete from an in-memory index loaded at startup. */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class BulkImport {
+        /** Bytes of the upload sent to the database per COPY round trip. */
+        @Positive
+        private int copyBufferSize = 65_536;
+
+        /** Rejected rows listed in an import's response; the rejected count is always exact. */
+        @PositiveOrZero
+        private int maxReportedRejections = 1_000;
+    }
+
+    @Data
+    public static class WriteBuffer {
+        /** Group concurrent single-policy creates into shared commits. */
+        private boolean enabled = false;
+
+        /** Policies committed together at most. */
+        @Positive
+        private int maxBatchSize = 256;
+
+        /** Longest a create waits for others to join its commit. */
+        private Duration maxDelay = Duration.ofMillis(5);
+
+        /** Creates waiting at most; beyond this they are written directly. */
+        @Positive
+        private int queueCapacity = 10_000;
+
+        /** Longest a create waits for its group commit before it fails with 503. */
+        private Duration commitTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class ChangeFeed {
+        /** Recent changes kept for clients resuming with Last-Event-ID. */
+        @Positive
+        private int bufferSize = 1_000;
+
+        /** Changes a subscriber may lag behind, on top of its replay, before it is disconnected. */
+        @Positive
+        private int subscriberQueueCapacity = 1_000;
+
+        /** Idle time after which a comment line is sent to keep the connection open. */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        /** Lifetime of one change feed connection; clients reconnect and resume afterwards. */
+        private Duration emitterTimeout = Duration.ofMinutes(30);
+
+        /** Relay changes between instances through Postgres LISTEN/NOTIFY. */
+        private boolean listenNotify = false;
+    }
+
+    @Data
+    public static class Ids {
+        /** How new policy ids are generated. */
+        @NotNull
+        private IdStrategy strategy = IdStrategy.RANDOM;
+    }
+
+    public enum IdStrategy {
+        /** Random version 4 UUIDs. */
+        RANDOM,
+        /** Version 7 UUIDs, which start with the creation time so new keys land at the end of the index. */
+        TIME_ORDERED
+    }
+
+    @Data
+    public static class Admission {
+        /** Admit database work through separate read and write bulkheads, rejecting with 503 when saturated. */
+        private boolean enabled = false;
+
+        /** Retry-After sent with a rejection. */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        @Valid
+        private final Bulkhead read = new Bulkhead(20, 64);
+
+        @Valid
+        private final Bulkhead write = new Bulkhead(10, 32);
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class Bulkhead {
+        /** Calls admitted at once before any latency has been observed. */
+        @Positive
+        private int initialLimit = 10;
+
+        /** Floor for the adaptive limit. */
+        @Positive
+        private int minLimit = 2;
+
+        /** Ceiling for the adaptive limit; keep the two bulkheads together within the pool size. */
+        @Positive
+        private int maxLimit = 32;
+
+        /** Calls allowed to wait for admission; any more are rejected at once. */
+        @PositiveOrZero
+        private int queueCapacity = 100;
+
+        /** Longest a queued call waits before it is rejected. */
+        private Duration maxWait = Duration.ofMillis(500);
+
+        /** Raise and lower the limit from observed latency; when false the initial limit is fixed. */
+        private boolean adaptive = true;
+
+        /** Latency, as a multiple of the fastest recent call, beyond which the limit shrinks. */
+        @DecimalMin("1.0")
+        private double latencyTolerance = 2.0;
+
+        Bulkhead(int initialLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    @Data
+    public static class QueryProfiling {
+        /** Time every JDBC statement and aggregate the results per SQL string. */
+        private boolean enabled = true;
+
+        /** Executions at least this slow are kept in the slow-query log. */
+        private Duration slowThreshold = Duration.ofMillis(100);
+
+        /** Most recent slow executions kept. */
+        @Positive
+        private int slowQueryCapacity = 100;
+
+        /** Share of slow SELECTs re-run under EXPLAIN (ANALYZE, BUFFERS) to capture their plan; 0 disables. */
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double explainSampleRate = 0.0;
+
+        /** Distinct SQL strings tracked; executions of any others are counted together. */
+        @Positive
+        private int maxStatements = 500;
+    }
+
+    @Data
+    public static class ReadReplica {
+        /** Send reads to a read-only replica; writes always go to spring.datasource. */
+        private boolean enabled = false;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /** Connections in the replica's own pool. */
+        @Positive
+        private int maximumPoolSize = 10;
+
+        /** Replication lag beyond which reads fall back to the primary until the replica catches up. */
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        /** How often the replica's lag is measured. */
+        private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+        /** How long reads of a policy written by this instance keep going to the primary. */
+        private Duration readYourWritesWindow = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Partitions {
+        /** Quarters after the current one that get their policies partition ahead of time. */
+        @PositiveOrZero
+        private int quartersAhead = 4;
+
+        /** How often partitions are created ahead and quarters split out of the default partition. */
+        private Duration checkInterval = Duration.ofHours(1);
+    }
+}
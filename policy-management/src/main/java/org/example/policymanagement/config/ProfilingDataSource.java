@@ -0,0 +1,279 @@
+package org.example.policymanagement.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Times every statement run through its connections and reports it to the {@link QueryProfiler}.
+ * A query is measured from execution until its result set is closed, counting only the time
+ * spent in the driver, so rows fetched lazily through a cursor are included but the caller's own
+ * work per row is not. Updates report their update count as rows.
+ *
+ * <p>When the profiler samples a slow SELECT, the statement is re-run with the same parameters
+ * under {@code EXPLAIN (ANALYZE, BUFFERS)} on a virtual thread and a separate, unprofiled
+ * connection, one at a time, and the plan is attached to its slow-query entry. The re-run happens
+ * in a read-only transaction that is always rolled back, so it cannot change anything even if the
+ * statement turns out to write.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private final QueryProfiler profiler;
+    private final boolean captureParameters;
+    private final AtomicBoolean explaining = new AtomicBoolean();
+
+    public ProfilingDataSource(DataSource targetDataSource, QueryProfiler profiler, boolean captureParameters) {
+        super(targetDataSource);
+        this.profiler = profiler;
+        this.captureParameters = captureParameters;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection profiled(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return proxy(Statement.class, statement, new StatementHandler(statement, null));
+            }
+            return result;
+        });
+    }
+
+    private void explain(QueryProfiler.Entry entry, String sql, Map<Integer, Object[]> parameters) {
+        if (!explaining.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("query-profiler-explain").start(() -> {
+            try (Connection connection = obtainTargetDataSource().getConnection()) {
+                entry.attachPlan(explainReadOnly(connection, sql, parameters));
+            } catch (Exception e) {
+                entry.attachPlan("EXPLAIN failed: " + e.getMessage());
+            } finally {
+                explaining.set(false);
+            }
+        });
+    }
+
+    // Connection.setReadOnly alone does nothing in autocommit mode, so the transaction is opened
+    // explicitly and declared read-only before EXPLAIN ANALYZE executes the statement.
+    private static String explainReadOnly(Connection connection, String sql, Map<Integer, Object[]> parameters)
+        throws Exception {
+        connection.setAutoCommit(false);
+        try {
+            try (Statement readOnly = connection.createStatement()) {
+                readOnly.execute("SET TRANSACTION READ ONLY");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                for (Object[] setter : parameters.values()) {
+                    ((Method) setter[0]).invoke(statement, (Object[]) setter[1]);
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.add(rs.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        } finally {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        // Setter calls by parameter index, replayed when the statement is sampled for EXPLAIN.
+        private final Map<Integer, Object[]> parameters = captureParameters ? new TreeMap<>() : null;
+        private String batchSql;
+        private long batchSize;
+        private Execution openQuery;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "executeQuery" -> {
+                    finishOpenQuery();
+                    String sql = sqlOf(args);
+                    long start = System.nanoTime();
+                    ResultSet rs = (ResultSet) ProfilingDataSource.invoke(target, method, args);
+                    Execution execution = new Execution(sql, System.nanoTime() - start, snapshotParameters());
+                    openQuery = execution;
+                    return proxy(ResultSet.class, rs, execution.resultSetHandler(rs));
+                }
+                case "executeUpdate", "executeLargeUpdate" -> {
+                    finishOpenQuery();
+                    String sql = sqlOf(args);
+                    long start = System.nanoTime();
+                    Object count = ProfilingDataSource.invoke(target, method, args);
+                    record(sql, System.nanoTime() - start, ((Number) count).longValue(), null);
+                    return count;
+                }
+                case "execute" -> {
+                    finishOpenQuery();
+                    String sql = sqlOf(args);
+                    long start = System.nanoTime();
+                    Object hasResultSet = ProfilingDataSource.invoke(target, method, args);
+                    long updateCount = Boolean.TRUE.equals(hasResultSet) ? 0 : Math.max(0, target.getUpdateCount());
+                    record(sql, System.nanoTime() - start, updateCount, null);
+                    return hasResultSet;
+                }
+                case "executeBatch", "executeLargeBatch" -> {
+                    finishOpenQuery();
+                    String sql = preparedSql != null ? preparedSql : batchSql;
+                    long rows = batchSize;
+                    batchSql = null;
+                    batchSize = 0;
+                    long start = System.nanoTime();
+                    Object counts = ProfilingDataSource.invoke(target, method, args);
+                    if (sql != null) {
+                        record(sql, System.nanoTime() - start, rows, null);
+                    }
+                    return counts;
+                }
+                case "addBatch" -> {
+                    if (args != null && args.length == 1 && batchSql == null) {
+                        batchSql = (String) args[0];
+                    }
+                    batchSize++;
+                    return ProfilingDataSource.invoke(target, method, args);
+                }
+                case "clearParameters" -> {
+                    if (parameters != null) {
+                        parameters.clear();
+                    }
+                    return ProfilingDataSource.invoke(target, method, args);
+                }
+                case "close" -> {
+                    finishOpenQuery();
+                    return ProfilingDataSource.invoke(target, method, args);
+                }
+                default -> {
+                    if (parameters != null && name.startsWith("set") && args != null && args.length >= 2
+                        && method.getParameterTypes()[0] == int.class) {
+                        parameters.put((Integer) args[0], new Object[]{method, args.clone()});
+                    }
+                    return ProfilingDataSource.invoke(target, method, args);
+                }
+            }
+        }
+
+        private String sqlOf(Object[] args) {
+            return args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql;
+        }
+
+        private Map<Integer, Object[]> snapshotParameters() {
+            return parameters == null ? null : new TreeMap<>(parameters);
+        }
+
+        // A result set left open is finished when its statement is closed or reused.
+        private void finishOpenQuery() {
+            if (openQuery != null) {
+                openQuery.finish();
+                openQuery = null;
+            }
+        }
+    }
+
+    private final class Execution {
+        private final String sql;
+        private final Map<Integer, Object[]> parameters;
+        private long nanos;
+        private long rows;
+        private boolean finished;
+
+        Execution(String sql, long nanos, Map<Integer, Object[]> parameters) {
+            this.sql = sql;
+            this.nanos = nanos;
+            this.parameters = parameters;
+        }
+
+        InvocationHandler resultSetHandler(ResultSet target) {
+            return (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "next" -> {
+                        long start = System.nanoTime();
+                        Object hasRow = ProfilingDataSource.invoke(target, method, args);
+                        nanos += System.nanoTime() - start;
+                        if (Boolean.TRUE.equals(hasRow)) {
+                            rows++;
+                        }
+                        return hasRow;
+                    }
+                    case "close" -> {
+                        try {
+                            return ProfilingDataSource.invoke(target, method, args);
+                        } finally {
+                            finish();
+                        }
+                    }
+                    default -> {
+                        return ProfilingDataSource.invoke(target, method, args);
+                    }
+                }
+            };
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                record(sql, nanos, rows, parameters);
+            }
+        }
+    }
+
+    private void record(String sql, long nanos, long rows, Map<Integer, Object[]> parameters) {
+        if (sql == null) {
+            return;
+        }
+        QueryProfiler.Entry sampled = profiler.record(sql, nanos, rows);
+        if (sampled != null && parameters != null) {
+            explain(sampled, sql, parameters);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.example.policymanagement.config;
+
+import org.example.policymanagement.dto.QueryStats;
+import org.example.policymanagement.dto.SlowQuery;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement execution statistics and a log of recent slow executions, fed by
+ * {@link ProfilingDataSource}. Recording a fast execution only touches striped counters, so it
+ * adds no contention between threads running the same statement. The slow-query log is a ring
+ * buffer of the last {@code slow-query-capacity} executions over {@code slow-threshold}.
+ */
+@Component
+public class QueryProfiler {
+
+    static final String OTHER_STATEMENTS = "(other statements)";
+    // Power-of-two microsecond buckets: bucket i holds latencies below 2^i microseconds, the last
+    // one everything from about 4.2 seconds up.
+    private static final int BUCKETS = 24;
+    // A word directly followed by an opening parenthesis: a function call, or a keyword before a
+    // parenthesised expression or subquery.
+    private static final Pattern CALL = Pattern.compile("([A-Z_][A-Z0-9_]*)\\s*\\(");
+    private static final Set<String> READ_ONLY_CALLS = Set.of(
+        "SELECT", "FROM", "JOIN", "WHERE", "AND", "OR", "NOT", "ON", "IN", "ANY", "ALL", "EXISTS", "AS",
+        "VALUES", "OVER", "FILTER", "USING", "THEN", "ELSE", "WHEN", "CASE", "BY", "IS",
+        "COUNT", "SUM", "MIN", "MAX", "AVG", "STRING_AGG", "ARRAY_AGG", "BOOL_AND", "BOOL_OR",
+        "CAST", "COALESCE", "NULLIF", "GREATEST", "LEAST", "LOWER", "UPPER", "BTRIM", "TRIM", "LENGTH",
+        "SUBSTRING", "REPLACE", "MD5", "ENCODE", "DATE_TRUNC", "EXTRACT", "UNNEST", "ROW_NUMBER", "ROW",
+        "NUMERIC", "DECIMAL", "VARCHAR"
+    );
+
+    private final PolicyProperties.QueryProfiling config;
+    private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private final Entry[] slowQueries;
+    private long slowQueryCount;
+
+    public QueryProfiler(PolicyProperties properties) {
+        this.config = properties.getQueryProfiler();
+        this.slowQueries = new Entry[config.getSlowQueryCapacity()];
+    }
+
+    /**
+     * Records one execution. Returns the slow-query log entry when the execution was slow and has
+     * been sampled for EXPLAIN, so the caller can attach a plan to it, and null otherwise.
+     */
+    public Entry record(String sql, long nanos, long rows) {
+        statisticsFor(sql).add(nanos, rows);
+        if (nanos < config.getSlowThreshold().toNanos()) {
+            return null;
+        }
+        Entry entry = new Entry(sql, nanos, rows, Instant.now());
+        synchronized (slowQueries) {
+            slowQueries[(int) (slowQueryCount++ % slowQueries.length)] = entry;
+        }
+        double sampleRate = config.getExplainSampleRate();
+        return sampleRate > 0 && isExplainable(sql) && ThreadLocalRandom.current().nextDouble() < sampleRate
+            ? entry
+            : null;
+    }
+
+    /** Statistics for every tracked statement, the most total time first. */
+    public List<QueryStats> statistics() {
+        List<QueryStats> result = new ArrayList<>(statistics.size());
+        statistics.forEach((sql, stats) -> result.add(stats.snapshot(sql)));
+        result.sort(Comparator.comparingDouble(QueryStats::totalMillis).reversed());
+        return result;
+    }
+
+    /** The slow-query log, newest first. */
+    public List<SlowQuery> slowQueries() {
+        List<SlowQuery> result = new ArrayList<>(slowQueries.length);
+        synchronized (slowQueries) {
+            long oldest = Math.max(0, slowQueryCount - slowQueries.length);
+            for (long i = slowQueryCount - 1; i >= oldest; i--) {
+                result.add(slowQueries[(int) (i % slowQueries.length)].toSlowQuery());
+            }
+        }
+        return result;
+    }
+
+    public void reset() {
+        statistics.clear();
+        synchronized (slowQueries) {
+            Arrays.fill(slowQueries, null);
+            slowQueryCount = 0;
+        }
+    }
+
+    // Re-running a statement under EXPLAIN ANALYZE executes it again, so only plain reads of tables
+    // qualify. Any call to a function outside READ_ONLY_CALLS, such as the partition functions or
+    // pg_notify, rules the statement out, since what it does cannot be told from its text.
+    static boolean isExplainable(String sql) {
+        String normalized = sql.strip().toUpperCase(Locale.ROOT);
+        if (!(normalized.startsWith("SELECT") || normalized.startsWith("WITH"))
+            || !normalized.contains(" FROM ")
+            || normalized.contains(" FOR UPDATE")
+            || normalized.contains(" FOR NO KEY UPDATE")
+            || normalized.contains(" FOR SHARE")
+            || normalized.contains(" FOR KEY SHARE")
+            || normalized.contains("INSERT ")
+            || normalized.contains("UPDATE ")
+            || normalized.contains("DELETE ")) {
+            return false;
+        }
+        Matcher call = CALL.matcher(normalized);
+        while (call.find()) {
+            if (!READ_ONLY_CALLS.contains(call.group(1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Statistics statisticsFor(String sql) {
+        Statistics stats = statistics.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        if (statistics.size() >= config.getMaxStatements()) {
+            return statistics.computeIfAbsent(OTHER_STATEMENTS, key -> new Statistics());
+        }
+        return statistics.computeIfAbsent(sql, key -> new Statistics());
+    }
+
+    /** A slow execution; its plan is filled in later when it was sampled for EXPLAIN. */
+    public static final class Entry {
+        private final String sql;
+        private final long nanos;
+        private final long rows;
+        private final Instant occurredAt;
+        private volatile String plan;
+
+        private Entry(String sql, long nanos, long rows, Instant occurredAt) {
+            this.sql = sql;
+            this.nanos = nanos;
+            this.rows = rows;
+            this.occurredAt = occurredAt;
+        }
+
+        public void attachPlan(String plan) {
+            this.plan = plan;
+        }
+
+        private SlowQuery toSlowQuery() {
+            return new SlowQuery(sql, millis(nanos), rows, occurredAt, plan);
+        }
+    }
+
+    private static final class Statistics {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void add(long nanos, long rowCount) {
+            calls.increment();
+            rows.add(rowCount);
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+        }
+
+        QueryStats snapshot(String sql) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            long callCount = calls.sum();
+            long nanos = totalNanos.sum();
+            return new QueryStats(
+                sql,
+                callCount,
+                rows.sum(),
+                millis(nanos),
+                callCount == 0 ? 0 : millis(nanos / callCount),
+                millis(maxNanos.get()),
+                percentile(counts, total, 0.50),
+                percentile(counts, total, 0.95),
+                percentile(counts, total, 0.99)
+            );
+        }
+
+        private static double percentile(long[] counts, long total, double quantile) {
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return (1L << i) / 1000.0;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
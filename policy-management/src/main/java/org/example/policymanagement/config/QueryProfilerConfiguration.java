@@ -0,0 +1,36 @@
+package org.example.policymanagement.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Active unless {@code policy.query-profiler.enabled=false}. Wraps the application datasource so
+ * every statement is reported to the {@link QueryProfiler}; this replaces JdbcTemplate TRACE
+ * logging, which wrote each statement and its parameters synchronously.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "policy.query-profiler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryProfilerConfiguration {
+
+    @Bean
+    static BeanPostProcessor profilingDataSourcePostProcessor(
+        ObjectProvider<QueryProfiler> profiler,
+        ObjectProvider<PolicyProperties> properties
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                boolean captureParameters = properties.getObject().getQueryProfiler().getExplainSampleRate() > 0;
+                return new ProfilingDataSource(dataSource, profiler.getObject(), captureParameters);
+            }
+        };
+    }
+}
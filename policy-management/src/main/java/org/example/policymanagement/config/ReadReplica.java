@@ -0,0 +1,90 @@
+package org.example.policymanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The replica's connection pool and a background check of its replication lag. The replica is
+ * usable while the last check succeeded and found lag within {@code max-lag}. Until the first
+ * check completes, or while the replica is down or behind, reads stay on the primary.
+ */
+public class ReadReplica implements MeterBinder, AutoCloseable {
+
+    // Lag is zero when the replica has replayed everything it received, or is not replicating at
+    // all. Otherwise it is the age of the last transaction it replayed.
+    private static final String LAG_SECONDS =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final HikariDataSource dataSource;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService lagChecker;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReadReplica(PolicyProperties.ReadReplica config) {
+        dataSource = new HikariDataSource();
+        dataSource.setPoolName("policy-replica");
+        dataSource.setJdbcUrl(config.getUrl());
+        dataSource.setUsername(config.getUsername());
+        dataSource.setPassword(config.getPassword());
+        dataSource.setMaximumPoolSize(config.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        // Start even when the replica is down; reads use the primary until it comes up.
+        dataSource.setInitializationFailTimeout(-1);
+        maxLagSeconds = config.getMaxLag().toMillis() / 1000.0;
+        lagChecker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("policy-replica-lag").daemon().factory());
+        long interval = config.getLagCheckInterval().toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    void checkLag() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SECONDS)) {
+            rs.next();
+            lagSeconds = rs.getDouble(1);
+            usable = lagSeconds <= maxLagSeconds;
+        } catch (SQLException e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("policy.read.replica.lag", this, replica -> replica.lagSeconds)
+            .description("Replication lag of the read replica at the last check")
+            .baseUnit("seconds")
+            .register(registry);
+        Gauge.builder("policy.read.replica.usable", this, replica -> replica.usable ? 1 : 0)
+            .description("Whether reads are currently sent to the replica")
+            .register(registry);
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        dataSource.close();
+    }
+}
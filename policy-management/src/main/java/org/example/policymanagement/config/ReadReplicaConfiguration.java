@@ -0,0 +1,52 @@
+package org.example.policymanagement.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Active when {@code policy.read-replica.enabled=true}. The application datasource becomes a lazy
+ * proxy over a {@link ReplicaRoutingDataSource}, so JdbcTemplate and the transaction manager keep
+ * using a single datasource while reads are served from the replica. The replica pool is not a
+ * bean of its own, which would make Spring Boot stop configuring the primary.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "policy.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean(destroyMethod = "close")
+    ReadReplica readReplica(PolicyProperties properties) {
+        return new ReadReplica(properties.getReadReplica());
+    }
+
+    @Bean
+    static BeanPostProcessor replicaRoutingDataSourcePostProcessor(ObjectProvider<ReadReplica> readReplica) {
+        return new RoutingPostProcessor(readReplica);
+    }
+
+    // Ordered so it wraps the pool itself; the query profiler and the virtual-thread guard, which
+    // are unordered, then wrap the router and see primary and replica statements alike.
+    private record RoutingPostProcessor(ObjectProvider<ReadReplica> readReplica) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary) || !"dataSource".equals(beanName)) {
+                return bean;
+            }
+            ReadReplica replica = readReplica.getObject();
+            return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica.dataSource(), replica::isUsable));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
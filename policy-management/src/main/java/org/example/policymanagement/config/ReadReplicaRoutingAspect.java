@@ -0,0 +1,37 @@
+package org.example.policymanagement.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.policymanagement.service.DatabaseAccess;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes {@link DatabaseAccess} reads to the replica. A read that runs inside a transaction that
+ * has already started, such as one opened by a write, keeps that transaction's connection.
+ * Ordered just inside admission control, and outside the transaction advice, so the route is set
+ * before any connection is taken.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "policy.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaRoutingAspect {
+
+    @Around("@annotation(access)")
+    public Object route(ProceedingJoinPoint joinPoint, DatabaseAccess access) throws Throwable {
+        if (access.value() != DatabaseAccess.Kind.READ || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        ReplicaRoutingDataSource.Route previous = ReplicaRoutingDataSource.route(ReplicaRoutingDataSource.Route.REPLICA);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.route(previous);
+        }
+    }
+}
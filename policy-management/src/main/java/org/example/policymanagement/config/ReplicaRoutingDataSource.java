@@ -0,0 +1,61 @@
+package org.example.policymanagement.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hands out replica connections for reads and primary connections for everything else. A read is
+ * work done under {@link Route#REPLICA}, or a read-only transaction with no route set; it only
+ * goes to the replica while the replica is usable. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the choice is made
+ * when the first statement runs, after a transaction has declared itself read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Route> ROUTE = new ThreadLocal<>();
+
+    private final BooleanSupplier replicaUsable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, BooleanSupplier replicaUsable) {
+        this.replicaUsable = replicaUsable;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /** Sets the route for the current thread and returns the previous one, to be restored afterwards. */
+    public static Route route(Route route) {
+        Route previous = ROUTE.get();
+        if (route == null) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(route);
+        }
+        return previous;
+    }
+
+    /** Runs {@code work} against the primary, for reads that must see this instance's own writes. */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Route previous = route(Route.PRIMARY);
+        try {
+            return work.get();
+        } finally {
+            route(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = ROUTE.get();
+        boolean read = route == Route.REPLICA
+            || (route == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+        return read && replicaUsable.getAsBoolean() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
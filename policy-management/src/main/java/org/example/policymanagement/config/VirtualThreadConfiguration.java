@@ -0,0 +1,51 @@
+package org.example.policymanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled=true}. Spring Boot then runs Tomcat requests,
+ * async MVC work and the application task executor on virtual threads; this adds the datasource
+ * guard that keeps those threads from stampeding the connection pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    static BeanPostProcessor guardedDataSourcePostProcessor(ObjectProvider<PolicyProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                    return bean;
+                }
+                PolicyProperties.DatasourceGuard guard = properties.getObject().getDatasourceGuard();
+                int maxConcurrent = guard.getMaxConcurrent();
+                if (maxConcurrent == 0) {
+                    maxConcurrent = poolSize(dataSource);
+                }
+                return new GuardedDataSource(dataSource, maxConcurrent, guard.getAcquireTimeout());
+            }
+        };
+    }
+
+    // The datasource may already be wrapped, for instance by the query profiler.
+    private static int poolSize(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                : 10;
+        } catch (SQLException e) {
+            return 10;
+        }
+    }
+}
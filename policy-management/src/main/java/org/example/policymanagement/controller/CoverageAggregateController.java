@@ -0,0 +1,50 @@
+package org.example.policymanagement.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.dto.CoverageAggregate;
+import org.example.policymanagement.dto.CoverageConsistencyReport;
+import org.example.policymanagement.service.CoverageAggregateService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/policies/aggregates")
+@RequiredArgsConstructor
+@Tag(name = "Policy Aggregates", description = "Coverage totals maintained alongside policy writes")
+public class CoverageAggregateController {
+
+    private final CoverageAggregateService coverageAggregateService;
+
+    @GetMapping("/coverage-by-month")
+    @Operation(summary = "Get policy count, total and average coverage per coverage-period month")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "One entry per month that has policies"),
+        @ApiResponse(responseCode = "400", description = "Invalid month range")
+    })
+    public List<CoverageAggregate> getCoverageByMonth(
+        @Parameter(description = "First month to include (any day in the month)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Last month to include (any day in the month)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return coverageAggregateService.getCoverageByMonth(from, to);
+    }
+
+    @GetMapping("/coverage-by-month/consistency")
+    @Operation(summary = "Compare the maintained aggregates with a full recompute from policies")
+    @ApiResponse(responseCode = "200", description = "Months whose stored and recomputed values differ")
+    public CoverageConsistencyReport checkConsistency() {
+        return coverageAggregateService.checkConsistency();
+    }
+}
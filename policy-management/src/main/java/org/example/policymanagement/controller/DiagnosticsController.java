@@ -0,0 +1,57 @@
+package org.example.policymanagement.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.config.QueryProfiler;
+import org.example.policymanagement.dto.PolicyCacheStats;
+import org.example.policymanagement.dto.QueryStats;
+import org.example.policymanagement.dto.SlowQuery;
+import org.example.policymanagement.service.PolicyCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@RequiredArgsConstructor
+@Tag(name = "Diagnostics", description = "Runtime statistics for capacity planning")
+public class DiagnosticsController {
+
+    private final PolicyCache policyCache;
+    private final QueryProfiler queryProfiler;
+
+    @GetMapping("/policy-cache")
+    @Operation(summary = "Get policy cache hit, miss and eviction counters")
+    @ApiResponse(responseCode = "200", description = "Cache statistics since startup")
+    public PolicyCacheStats getPolicyCacheStats() {
+        return policyCache.stats();
+    }
+
+    @GetMapping("/queries")
+    @Operation(summary = "Get execution statistics per SQL statement, most total time first")
+    @ApiResponse(responseCode = "200", description = "Calls, rows and latency per statement since startup or the last reset")
+    public List<QueryStats> getQueryStats() {
+        return queryProfiler.statistics();
+    }
+
+    @GetMapping("/queries/slow")
+    @Operation(summary = "Get the most recent slow statement executions, newest first")
+    @ApiResponse(responseCode = "200", description = "Executions over the slow-query threshold, with a plan when sampled for EXPLAIN")
+    public List<SlowQuery> getSlowQueries() {
+        return queryProfiler.slowQueries();
+    }
+
+    @DeleteMapping("/queries")
+    @Operation(summary = "Reset query statistics and the slow-query log")
+    @ApiResponse(responseCode = "204", description = "Statistics cleared")
+    public ResponseEntity<Void> resetQueryStats() {
+        queryProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.policymanagement.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.service.PolicyChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/policies/changes")
+@RequiredArgsConstructor
+@Tag(name = "Policy Changes", description = "Live feed of policy creates, updates and deletes")
+public class PolicyChangeController {
+
+    private final PolicyChangeFeed policyChangeFeed;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream policy changes as Server-Sent Events")
+    @ApiResponse(responseCode = "200",
+        description = "Events named created, updated, deleted, imported or detached, and reset when the client must reload")
+    public SseEmitter streamChanges(
+        @Parameter(description = "Id of the last event received, to resume after a reconnect")
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return policyChangeFeed.subscribe(lastEventId);
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.policymanagement.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,15 +11,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.dto.BatchCreatePolicyResponse;
 import org.example.policymanagement.dto.CreatePolicyRequest;
+import org.example.policymanagement.dto.PolicyFilter;
+import org.example.policymanagement.dto.PolicyPage;
+import org.example.policymanagement.dto.PolicySearchMode;
 import org.example.policymanagement.dto.UpdatePolicyRequest;
 import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.service.PolicyETags;
 import org.example.policymanagement.service.PolicyService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -26,7 +42,10 @@ import java.util.UUID;
 @Tag(name = "Policy Management", description = "APIs for managing insurance policies")
 public class PolicyController {
 
+    private static final int EXPORT_FLUSH_INTERVAL = 1_000;
+
     private final PolicyService policyService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Create a new policy")
@@ -40,20 +59,39 @@ public class PolicyController {
             request.coveragePeriod(),
             request.coverageAmount()
         );
-        return ResponseEntity.status(HttpStatus.CREATED).body(policy);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(PolicyETags.forPolicy(policy)).body(policy);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create many policies in one request")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Per-item results; invalid items are reported, not created"),
+        @ApiResponse(responseCode = "400", description = "Empty batch, or more than policy.batch.max-size items")
+    })
+    public BatchCreatePolicyResponse createPolicies(@RequestBody List<CreatePolicyRequest> requests) {
+        return policyService.createPolicies(requests);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a policy by ID")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Policy found"),
+        @ApiResponse(responseCode = "304", description = "Policy unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Policy not found")
     })
     public ResponseEntity<Policy> getPolicy(
-        @Parameter(description = "Policy ID") @PathVariable UUID id
+        @Parameter(description = "Policy ID") @PathVariable UUID id,
+        WebRequest request
     ) {
+        // Answer revalidations from the version alone, before loading or serializing the policy.
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> etag = policyService.getPolicyETag(id);
+            if (etag.isPresent() && request.checkNotModified(etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+            }
+        }
         return policyService.getPolicy(id)
-            .map(ResponseEntity::ok)
+            .map(policy -> ResponseEntity.ok().eTag(PolicyETags.forPolicy(policy)).body(policy))
             .orElse(ResponseEntity.notFound().build());
     }
 
@@ -62,27 +100,123 @@ public class PolicyController {
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Policy updated"),
         @ApiResponse(responseCode = "404", description = "Policy not found"),
-        @ApiResponse(responseCode = "400", description = "Invalid input")
+        @ApiResponse(responseCode = "400", description = "Invalid input or If-Match"),
+        @ApiResponse(responseCode = "409", description = "Policy changed since the given version"),
+        @ApiResponse(responseCode = "428", description = "No version given while policy.updates.require-version is on")
     })
     public ResponseEntity<Policy> updatePolicy(
         @Parameter(description = "Policy ID") @PathVariable UUID id,
+        @Parameter(description = "ETag of the version last read; the body's version wins if both are given")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody UpdatePolicyRequest request
     ) {
         return policyService.updatePolicy(
                 id,
                 request.businessName(),
                 request.coveragePeriod(),
-                request.coverageAmount()
+                request.coverageAmount(),
+                request.version() != null ? request.version() : PolicyETags.parseVersion(ifMatch)
             )
-            .map(ResponseEntity::ok)
+            .map(policy -> ResponseEntity.ok().eTag(PolicyETags.forPolicy(policy)).body(policy))
             .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    @Operation(summary = "Get all policies")
-    @ApiResponse(responseCode = "200", description = "List of policies")
-    public List<Policy> getAllPolicies() {
-        return policyService.getAllPolicies();
+    @Operation(summary = "List policies one page at a time, ordered by ID")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of policies"),
+        @ApiResponse(responseCode = "304", description = "Page unchanged since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or filter")
+    })
+    public ResponseEntity<PolicyPage> getAllPolicies(
+        @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size, capped at 500") @RequestParam(required = false) Integer limit,
+        @Parameter(description = "Case-insensitive business name fragment") @RequestParam(required = false) String businessName,
+        @Parameter(description = "Earliest coverage period (inclusive)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate coveragePeriodFrom,
+        @Parameter(description = "Latest coverage period (inclusive)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate coveragePeriodTo,
+        WebRequest request
+    ) {
+        PolicyFilter filter = new PolicyFilter(businessName, coveragePeriodFrom, coveragePeriodTo);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = policyService.getPoliciesETag(filter, cursor, limit);
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        PolicyPage page = policyService.getPolicies(filter, cursor, limit);
+        return ResponseEntity.ok().eTag(PolicyETags.forPage(page)).body(page);
+    }
+
+    @GetMapping("/coverage-period")
+    @Operation(summary = "List policies whose coverage period falls in a date range, in coverage period order")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of policies ordered by coverage period, then ID"),
+        @ApiResponse(responseCode = "400", description = "Missing or inverted range, invalid cursor or page size")
+    })
+    public PolicyPage getPoliciesByCoveragePeriod(
+        @Parameter(description = "Earliest coverage period (inclusive)")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Latest coverage period (inclusive)")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size, capped at 500") @RequestParam(required = false) Integer limit
+    ) {
+        return policyService.getPoliciesByCoveragePeriod(from, to, cursor, limit);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search policies by business name, case-insensitively")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Matching policies ordered by business name"),
+        @ApiResponse(responseCode = "400", description = "Missing or too short search term, or invalid limit")
+    })
+    public List<Policy> searchPolicies(
+        @Parameter(description = "Text to match against the business name") @RequestParam String q,
+        @Parameter(description = "PREFIX (default) or CONTAINS; CONTAINS needs at least 3 characters")
+        @RequestParam(required = false) PolicySearchMode mode,
+        @Parameter(description = "Maximum results, capped at 100") @RequestParam(required = false) Integer limit
+    ) {
+        return policyService.searchPolicies(q, mode, limit);
+    }
+
+    @GetMapping("/suggestions")
+    @Operation(summary = "Suggest distinct business names starting with a prefix")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Business names in alphabetical order"),
+        @ApiResponse(responseCode = "400", description = "Missing prefix or invalid limit")
+    })
+    public List<String> suggestBusinessNames(
+        @Parameter(description = "Case-insensitive start of the business name") @RequestParam String prefix,
+        @Parameter(description = "Maximum suggestions, capped at 100") @RequestParam(required = false) Integer limit
+    ) {
+        return policyService.suggestBusinessNames(prefix, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream every policy as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "One policy per line")
+    public ResponseEntity<StreamingResponseBody> exportPolicies() {
+        ObjectWriter writer = objectMapper.writerFor(Policy.class);
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            policyService.exportPolicies(policy -> {
+                try {
+                    out.write(writer.writeValueAsBytes(policy));
+                    out.write('\n');
+                    // Flush the first line straight away, then periodically, so clients start
+                    // receiving data before the export finishes.
+                    if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,61 @@
+package org.example.policymanagement.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.dto.PolicyImportResult;
+import org.example.policymanagement.dto.PolicyImportStatus;
+import org.example.policymanagement.service.PolicyImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/policies/imports")
+@RequiredArgsConstructor
+@Tag(name = "Policy Import", description = "Bulk CSV import through PostgreSQL COPY")
+public class PolicyImportController {
+
+    private final PolicyImportService policyImportService;
+
+    @PostMapping(consumes = "text/csv")
+    @Operation(summary = "Import policies from a CSV with the header business_name,coverage_period,coverage_amount")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Counts of imported and rejected rows, with the first rejections"),
+        @ApiResponse(responseCode = "400", description = "Malformed CSV or header; nothing was imported")
+    })
+    public PolicyImportResult importPolicies(
+        InputStream body,
+        @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength
+    ) {
+        // The body is read straight from the request stream, so the upload is never held in memory.
+        return policyImportService.importCsv(body, contentLength == null ? -1 : contentLength);
+    }
+
+    @GetMapping
+    @Operation(summary = "List running and recently finished imports, newest first")
+    public List<PolicyImportStatus> getImports() {
+        return policyImportService.getImports();
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get the progress of an import")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Import found"),
+        @ApiResponse(responseCode = "404", description = "Unknown import, or finished too long ago")
+    })
+    public ResponseEntity<PolicyImportStatus> getImport(
+        @Parameter(description = "Import ID") @PathVariable UUID id
+    ) {
+        return policyImportService.getImport(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.policymanagement.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.service.PolicyPartitionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/policies/partitions")
+@RequiredArgsConstructor
+@Tag(name = "Policy Partitions", description = "Retiring coverage quarters")
+public class PolicyPartitionController {
+
+    private final PolicyPartitionService policyPartitionService;
+
+    @DeleteMapping("/{quarter}")
+    @Operation(summary = "Detach a coverage quarter, keeping its policies in a standalone table")
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Quarter detached"),
+        @ApiResponse(responseCode = "404", description = "The quarter has no attached partition")
+    })
+    public ResponseEntity<Void> detachQuarter(
+        @Parameter(description = "Any date in the quarter")
+        @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate quarter
+    ) {
+        return policyPartitionService.detachQuarter(quarter)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.policymanagement.dto;
+
+import java.util.List;
+
+public record BatchCreatePolicyResponse(
+    int created,
+    int rejected,
+    List<BatchCreatePolicyResult> results
+) {}
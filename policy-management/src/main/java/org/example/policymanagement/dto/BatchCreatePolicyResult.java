@@ -0,0 +1,9 @@
+package org.example.policymanagement.dto;
+
+import java.util.UUID;
+
+public record BatchCreatePolicyResult(
+    int index,
+    UUID id,
+    String error
+) {}
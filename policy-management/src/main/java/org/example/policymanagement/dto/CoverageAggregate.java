@@ -0,0 +1,11 @@
+package org.example.policymanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record CoverageAggregate(
+    LocalDate month,
+    long policyCount,
+    BigDecimal totalCoverage,
+    BigDecimal averageCoverage
+) {}
@@ -0,0 +1,12 @@
+package org.example.policymanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record CoverageAggregateMismatch(
+    LocalDate month,
+    long storedPolicyCount,
+    BigDecimal storedTotalCoverage,
+    long actualPolicyCount,
+    BigDecimal actualTotalCoverage
+) {}
@@ -0,0 +1,8 @@
+package org.example.policymanagement.dto;
+
+import java.util.List;
+
+public record CoverageConsistencyReport(
+    boolean consistent,
+    List<CoverageAggregateMismatch> mismatches
+) {}
@@ -0,0 +1,8 @@
+package org.example.policymanagement.dto;
+
+public record PolicyCacheStats(
+    long hitCount,
+    long missCount,
+    long evictionCount,
+    long estimatedSize
+) {}
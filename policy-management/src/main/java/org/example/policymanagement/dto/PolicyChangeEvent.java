@@ -0,0 +1,37 @@
+package org.example.policymanagement.dto;
+
+import org.example.policymanagement.model.Policy;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A committed change to the policies table. {@code policy} is the state after the change and is
+ * null for deletes, imports and detached quarters.
+ */
+public record PolicyChangeEvent(
+    PolicyChangeType type,
+    UUID policyId,
+    Policy policy,
+    Instant occurredAt
+) {
+    public static PolicyChangeEvent created(Policy policy) {
+        return new PolicyChangeEvent(PolicyChangeType.CREATED, policy.getId(), policy, Instant.now());
+    }
+
+    public static PolicyChangeEvent updated(Policy policy) {
+        return new PolicyChangeEvent(PolicyChangeType.UPDATED, policy.getId(), policy, Instant.now());
+    }
+
+    public static PolicyChangeEvent deleted(UUID policyId) {
+        return new PolicyChangeEvent(PolicyChangeType.DELETED, policyId, null, Instant.now());
+    }
+
+    public static PolicyChangeEvent imported() {
+        return new PolicyChangeEvent(PolicyChangeType.IMPORTED, null, null, Instant.now());
+    }
+
+    public static PolicyChangeEvent detached() {
+        return new PolicyChangeEvent(PolicyChangeType.DETACHED, null, null, Instant.now());
+    }
+}
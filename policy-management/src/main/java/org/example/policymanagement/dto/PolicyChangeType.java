@@ -0,0 +1,11 @@
+package org.example.policymanagement.dto;
+
+public enum PolicyChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /** A bulk import added policies that are not sent individually; consumers should resync. */
+    IMPORTED,
+    /** A coverage quarter was detached and its policies removed together; consumers should resync. */
+    DETACHED
+}
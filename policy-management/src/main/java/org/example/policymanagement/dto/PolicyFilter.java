@@ -0,0 +1,13 @@
+package org.example.policymanagement.dto;
+
+import java.time.LocalDate;
+
+public record PolicyFilter(
+    String businessName,
+    LocalDate coveragePeriodFrom,
+    LocalDate coveragePeriodTo
+) {
+    public static PolicyFilter none() {
+        return new PolicyFilter(null, null, null);
+    }
+}
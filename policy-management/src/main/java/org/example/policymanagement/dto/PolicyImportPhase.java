@@ -0,0 +1,9 @@
+package org.example.policymanagement.dto;
+
+public enum PolicyImportPhase {
+    COPYING,
+    VALIDATING,
+    INSERTING,
+    COMPLETED,
+    FAILED
+}
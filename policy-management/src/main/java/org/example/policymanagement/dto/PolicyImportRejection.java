@@ -0,0 +1,6 @@
+package org.example.policymanagement.dto;
+
+public record PolicyImportRejection(
+    long row,
+    String error
+) {}
@@ -0,0 +1,12 @@
+package org.example.policymanagement.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record PolicyImportResult(
+    UUID importId,
+    long staged,
+    long imported,
+    long rejected,
+    List<PolicyImportRejection> rejections
+) {}
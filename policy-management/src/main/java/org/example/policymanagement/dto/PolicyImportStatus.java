@@ -0,0 +1,17 @@
+package org.example.policymanagement.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PolicyImportStatus(
+    UUID id,
+    PolicyImportPhase phase,
+    long bytesRead,
+    long totalBytes,
+    long rowsStaged,
+    long imported,
+    long rejected,
+    Instant startedAt,
+    Instant finishedAt,
+    String error
+) {}
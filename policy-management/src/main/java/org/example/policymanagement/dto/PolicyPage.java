@@ -0,0 +1,10 @@
+package org.example.policymanagement.dto;
+
+import org.example.policymanagement.model.Policy;
+
+import java.util.List;
+
+public record PolicyPage(
+    List<Policy> items,
+    String nextCursor
+) {}
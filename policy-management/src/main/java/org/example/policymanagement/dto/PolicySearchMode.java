@@ -0,0 +1,8 @@
+package org.example.policymanagement.dto;
+
+public enum PolicySearchMode {
+    /** Business name starts with the search term. */
+    PREFIX,
+    /** Business name contains the search term anywhere. */
+    CONTAINS
+}
@@ -0,0 +1,17 @@
+package org.example.policymanagement.dto;
+
+/**
+ * Totals for one SQL statement since startup or the last reset. Percentiles are the upper bound
+ * of the power-of-two latency bucket they fall in, so they are accurate to within a factor of two.
+ */
+public record QueryStats(
+    String sql,
+    long calls,
+    long rows,
+    double totalMillis,
+    double meanMillis,
+    double maxMillis,
+    double p50Millis,
+    double p95Millis,
+    double p99Millis
+) {}
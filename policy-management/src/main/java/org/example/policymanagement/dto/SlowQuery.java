@@ -0,0 +1,12 @@
+package org.example.policymanagement.dto;
+
+import java.time.Instant;
+
+/** One execution over the slow-query threshold; {@code plan} is null unless it was sampled for EXPLAIN. */
+public record SlowQuery(
+    String sql,
+    double durationMillis,
+    long rows,
+    Instant occurredAt,
+    String plan
+) {}
@@ -8,5 +8,8 @@ public record UpdatePolicyRequest(
     LocalDate coveragePeriod,
     
     @Positive(message = "Coverage amount must be greater than zero")
-    Double coverageAmount
+    Double coverageAmount,
+
+    /** Version the client last read; when present, the update fails with 409 if it is stale. */
+    Long version
 ) {} 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package org.example.policymanagement.exception;
+
+public class PolicyConflictException extends RuntimeException {
+    public PolicyConflictException(String message) {
+        super(message);
+    }
+
+    public PolicyConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
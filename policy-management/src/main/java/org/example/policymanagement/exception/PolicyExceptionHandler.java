@@ -0,0 +1,41 @@
+package org.example.policymanagement.exception;
+
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class PolicyExceptionHandler {
+
+    @ExceptionHandler(PolicyValidationException.class)
+    public ResponseEntity<ProblemDetail> handleValidation(PolicyValidationException e) {
+        // Messages are fixed strings, so tagging by message keeps cardinality bounded.
+        Metrics.counter("policy.validation.errors", "message", e.getMessage()).increment();
+        return ResponseEntity.badRequest().body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getDetail()));
+    }
+
+    @ExceptionHandler(PolicyConflictException.class)
+    public ResponseEntity<ProblemDetail> handleConflict(PolicyConflictException e) {
+        Metrics.counter("policy.update.conflicts").increment();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage()));
+    }
+
+    @ExceptionHandler(PolicyPreconditionRequiredException.class)
+    public ResponseEntity<ProblemDetail> handlePreconditionRequired(PolicyPreconditionRequiredException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+            .body(ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_REQUIRED, e.getMessage()));
+    }
+
+    @ExceptionHandler(PolicyServiceOverloadedException.class)
+    public ResponseEntity<ProblemDetail> handleOverloaded(PolicyServiceOverloadedException e) {
+        // Retry-After is whole seconds; round up so clients never come back early.
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+            .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.policymanagement.exception;
+
+public class PolicyPreconditionRequiredException extends RuntimeException {
+    public PolicyPreconditionRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.policymanagement.exception;
+
+import java.time.Duration;
+
+public class PolicyServiceOverloadedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public PolicyServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public PolicyServiceOverloadedException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,7 +1,22 @@
 package org.example.policymanagement.exception;
 
 public class PolicyValidationException extends RuntimeException {
+    private final String detail;
+
     public PolicyValidationException(String message) {
+        this(message, message);
+    }
+
+    /**
+     * @param message fixed description of the rule that failed, safe to use as a metric tag
+     * @param detail  what the client sees, which may include input-specific context
+     */
+    public PolicyValidationException(String message, String detail) {
         super(message);
+        this.detail = detail;
+    }
+
+    public String getDetail() {
+        return detail;
     }
-} 
\ No newline at end of file
+}
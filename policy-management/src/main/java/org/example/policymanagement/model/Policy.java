@@ -15,6 +15,12 @@ public class Policy {
     private String businessName;
     private LocalDate coveragePeriod;
     private double coverageAmount;
+    /** Incremented by every update; a client sends back the version it read to detect lost updates. */
+    private long version;
+
+    public Policy(UUID id, String businessName, LocalDate coveragePeriod, double coverageAmount) {
+        this(id, businessName, coveragePeriod, coverageAmount, 0);
+    }
 
     public Policy(String businessName, LocalDate coveragePeriod, double coverageAmount) {
         this.id = UUID.randomUUID();
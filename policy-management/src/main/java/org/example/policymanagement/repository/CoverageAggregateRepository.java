@@ -0,0 +1,140 @@
+package org.example.policymanagement.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.example.policymanagement.dto.CoverageAggregate;
+import org.example.policymanagement.dto.CoverageAggregateMismatch;
+import org.example.policymanagement.model.Policy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-month policy count and coverage total, kept in step with {@code policies} by the service's
+ * write paths. Totals are NUMERIC and every amount is cast from DOUBLE PRECISION the same way the
+ * recompute does, so incremental and recomputed totals agree exactly. A statement that changes
+ * several months upserts them in {@code period_month} order, so concurrent writers lock months in
+ * the same order and queue behind each other rather than deadlock.
+ */
+@Repository
+@Timed("policy.repository")
+public class CoverageAggregateRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    static final String ADD_TO_BUCKET_CONFLICT =
+        "ON CONFLICT (period_month) DO UPDATE SET " +
+        "policy_count = coverage_aggregates.policy_count + EXCLUDED.policy_count, " +
+        "total_coverage = coverage_aggregates.total_coverage + EXCLUDED.total_coverage";
+    private static final String ADD_TO_BUCKET =
+        "INSERT INTO coverage_aggregates (period_month, policy_count, total_coverage) " +
+        "VALUES (date_trunc('month', CAST(? AS DATE))::date, ?, CAST(CAST(? AS DOUBLE PRECISION) AS NUMERIC)) " +
+        ADD_TO_BUCKET_CONFLICT;
+    private static final String ADD_ALL_TO_BUCKETS =
+        "INSERT INTO coverage_aggregates (period_month, policy_count, total_coverage) " +
+        "SELECT date_trunc('month', t.coverage_period)::date, sum(t.policy_count), " +
+        "sum(CAST(t.coverage_amount AS NUMERIC)) " +
+        "FROM unnest(CAST(? AS DATE[]), CAST(? AS INTEGER[]), CAST(? AS DOUBLE PRECISION[])) " +
+        "AS t(coverage_period, policy_count, coverage_amount) " +
+        "GROUP BY 1 ORDER BY 1 " +
+        ADD_TO_BUCKET_CONFLICT;
+    private static final String SELECT_BUCKETS =
+        "SELECT period_month, policy_count, total_coverage FROM coverage_aggregates WHERE policy_count > 0";
+    private static final String RECOMPUTED_BUCKETS =
+        "SELECT date_trunc('month', coverage_period)::date AS period_month, count(*) AS policy_count, " +
+        "sum(CAST(coverage_amount AS NUMERIC)) AS total_coverage FROM policies GROUP BY 1";
+    private static final String SELECT_MISMATCHES =
+        "SELECT COALESCE(s.period_month, r.period_month) AS period_month, " +
+        "COALESCE(s.policy_count, 0) AS stored_count, COALESCE(s.total_coverage, 0) AS stored_total, " +
+        "COALESCE(r.policy_count, 0) AS actual_count, COALESCE(r.total_coverage, 0) AS actual_total " +
+        "FROM (SELECT * FROM coverage_aggregates WHERE policy_count <> 0 OR total_coverage <> 0) s " +
+        "FULL JOIN (" + RECOMPUTED_BUCKETS + ") r ON s.period_month = r.period_month " +
+        "WHERE s.policy_count IS DISTINCT FROM r.policy_count OR s.total_coverage IS DISTINCT FROM r.total_coverage " +
+        "ORDER BY 1";
+
+    private static final RowMapper<CoverageAggregate> AGGREGATE_MAPPER = (rs, rowNum) -> {
+        long count = rs.getLong("policy_count");
+        BigDecimal total = rs.getBigDecimal("total_coverage");
+        return new CoverageAggregate(
+            rs.getDate("period_month").toLocalDate(),
+            count,
+            total,
+            total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_EVEN)
+        );
+    };
+
+    private static final RowMapper<CoverageAggregateMismatch> MISMATCH_MAPPER = (rs, rowNum) ->
+        new CoverageAggregateMismatch(
+            rs.getDate("period_month").toLocalDate(),
+            rs.getLong("stored_count"),
+            rs.getBigDecimal("stored_total"),
+            rs.getLong("actual_count"),
+            rs.getBigDecimal("actual_total")
+        );
+
+    public CoverageAggregateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void add(LocalDate coveragePeriod, int policyCount, double coverageAmount) {
+        jdbcTemplate.update(ADD_TO_BUCKET, coveragePeriod, policyCount, coverageAmount);
+    }
+
+    public void addAll(List<Policy> policies) {
+        if (policies.isEmpty()) {
+            return;
+        }
+        String[] periods = new String[policies.size()];
+        Integer[] counts = new Integer[policies.size()];
+        Double[] amounts = new Double[policies.size()];
+        for (int i = 0; i < policies.size(); i++) {
+            periods[i] = policies.get(i).getCoveragePeriod().toString();
+            counts[i] = 1;
+            amounts[i] = policies.get(i).getCoverageAmount();
+        }
+        addToBuckets(periods, counts, amounts);
+    }
+
+    /**
+     * Moves one policy's coverage from the month of {@code fromPeriod} to the month of
+     * {@code toPeriod}, which may be the same month, in a single statement.
+     */
+    public void move(LocalDate fromPeriod, double fromAmount, LocalDate toPeriod, double toAmount) {
+        addToBuckets(
+            new String[]{fromPeriod.toString(), toPeriod.toString()},
+            new Integer[]{-1, 1},
+            new Double[]{-fromAmount, toAmount}
+        );
+    }
+
+    private void addToBuckets(String[] periods, Integer[] counts, Double[] amounts) {
+        jdbcTemplate.update(ADD_ALL_TO_BUCKETS, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("text", periods));
+            ps.setArray(2, ps.getConnection().createArrayOf("int4", counts));
+            ps.setArray(3, ps.getConnection().createArrayOf("float8", amounts));
+        });
+    }
+
+    public List<CoverageAggregate> findByMonthBetween(LocalDate fromMonth, LocalDate toMonth) {
+        StringBuilder sql = new StringBuilder(SELECT_BUCKETS);
+        List<Object> args = new ArrayList<>();
+        if (fromMonth != null) {
+            sql.append(" AND period_month >= ?");
+            args.add(fromMonth);
+        }
+        if (toMonth != null) {
+            sql.append(" AND period_month <= ?");
+            args.add(toMonth);
+        }
+        sql.append(" ORDER BY period_month");
+        return jdbcTemplate.query(sql.toString(), AGGREGATE_MAPPER, args.toArray());
+    }
+
+    public List<CoverageAggregateMismatch> findMismatches() {
+        return jdbcTemplate.query(SELECT_MISMATCHES, MISMATCH_MAPPER);
+    }
+}
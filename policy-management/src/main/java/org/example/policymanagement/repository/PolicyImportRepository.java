@@ -0,0 +1,144 @@
+package org.example.policymanagement.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.dto.PolicyImportRejection;
+import org.example.policymanagement.exception.PolicyValidationException;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Bulk import through a per-transaction staging table. Every staged column is TEXT so COPY never
+ * fails on a bad value; validation then runs as one set-based UPDATE and only the rows it leaves
+ * unmarked reach {@code policies}. All methods must run in the same transaction, since the staging
+ * table is dropped on commit.
+ */
+@Repository
+@Timed("policy.repository")
+public class PolicyImportRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String CREATE_STAGING_TABLE =
+        "CREATE TEMP TABLE policy_import_staging (" +
+        "row_number BIGINT GENERATED ALWAYS AS IDENTITY, " +
+        "business_name TEXT, coverage_period TEXT, coverage_amount TEXT, error TEXT" +
+        ") ON COMMIT DROP";
+    // HEADER MATCH makes Postgres check the header names, so columns cannot be silently swapped.
+    private static final String COPY_INTO_STAGING =
+        "COPY policy_import_staging (business_name, coverage_period, coverage_amount) " +
+        "FROM STDIN WITH (FORMAT csv, HEADER MATCH)";
+    // Mirrors PolicyService's create validation, first failing rule wins. Casts only run on
+    // values pg_input_is_valid has already accepted.
+    private static final String MARK_INVALID_ROWS =
+        "UPDATE policy_import_staging s SET error = v.error FROM (" +
+        "SELECT row_number, CASE " +
+        "WHEN business_name IS NULL OR business_name !~ '[^[:space:]]' THEN 'Business name is required' " +
+        "WHEN length(business_name) > 255 THEN 'Business name must be at most 255 characters' " +
+        "WHEN coverage_period IS NULL OR btrim(coverage_period) = '' THEN 'Coverage period is required' " +
+        "WHEN btrim(coverage_period) !~ '^\\d{4}-\\d{2}-\\d{2}$' OR NOT pg_input_is_valid(coverage_period, 'date') " +
+        "THEN 'Coverage period must be a date (yyyy-MM-dd)' " +
+        "WHEN coverage_amount IS NULL OR btrim(coverage_amount) = '' THEN 'Coverage amount is required' " +
+        "WHEN NOT pg_input_is_valid(coverage_amount, 'double precision') " +
+        "OR CAST(coverage_amount AS DOUBLE PRECISION) IN ('NaN', 'Infinity') THEN 'Coverage amount must be a number' " +
+        "WHEN CAST(coverage_amount AS DOUBLE PRECISION) <= 0 THEN 'Coverage amount must be greater than zero' " +
+        "END AS error FROM policy_import_staging" +
+        ") v WHERE s.row_number = v.row_number AND v.error IS NOT NULL";
+    private static final String INSERT_VALID_ROWS =
+        "INSERT INTO policies (id, business_name, coverage_period, coverage_amount) " +
+        "SELECT %s, business_name, CAST(coverage_period AS DATE), CAST(coverage_amount AS DOUBLE PRECISION) " +
+        "FROM policy_import_staging WHERE error IS NULL ORDER BY row_number";
+    private static final String RANDOM_ID = "gen_random_uuid()";
+    // A version 7 UUID: the first 48 bits of a random UUID are overwritten with the Unix time in
+    // milliseconds, and the version nibble is raised from 4 to 7 by setting its two low bits.
+    private static final String TIME_ORDERED_ID =
+        "CAST(encode(set_bit(set_bit(overlay(uuid_send(gen_random_uuid()) " +
+        "PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3) " +
+        "FROM 1 FOR 6), 52, 1), 53, 1), 'hex') AS UUID)";
+    private static final String ADD_VALID_ROWS_TO_COVERAGE_AGGREGATES =
+        "INSERT INTO coverage_aggregates (period_month, policy_count, total_coverage) " +
+        "SELECT date_trunc('month', CAST(coverage_period AS DATE))::date, count(*), " +
+        "sum(CAST(CAST(coverage_amount AS DOUBLE PRECISION) AS NUMERIC)) " +
+        "FROM policy_import_staging WHERE error IS NULL GROUP BY 1 ORDER BY 1 " +
+        CoverageAggregateRepository.ADD_TO_BUCKET_CONFLICT;
+    private static final String SELECT_VALID_BUSINESS_NAME_COUNTS =
+        "SELECT business_name, count(*) AS policies FROM policy_import_staging " +
+        "WHERE error IS NULL GROUP BY business_name";
+    private static final String SELECT_REJECTIONS =
+        "SELECT row_number, error FROM policy_import_staging WHERE error IS NOT NULL ORDER BY row_number LIMIT ?";
+
+    public PolicyImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createStagingTable() {
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+    }
+
+    /**
+     * Streams {@code csv} to the server in {@code bufferSize} chunks and returns the number of rows
+     * staged. Malformed CSV, including a header that does not name the staging columns, fails the
+     * whole import.
+     */
+    public long copyIntoStaging(InputStream csv, int bufferSize) {
+        Long staged = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_INTO_STAGING, csv, bufferSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (SQLException e) {
+                // SQLSTATE class 22 is a data exception: the upload is at fault, not the database.
+                if (e.getSQLState() != null && e.getSQLState().startsWith("22")) {
+                    throw new PolicyValidationException("Invalid CSV", "Invalid CSV: " + e.getMessage());
+                }
+                throw e;
+            }
+        });
+        return staged == null ? 0 : staged;
+    }
+
+    public long markInvalidRows() {
+        return jdbcTemplate.update(MARK_INVALID_ROWS);
+    }
+
+    public long insertValidRows(PolicyProperties.IdStrategy idStrategy) {
+        String id = idStrategy == PolicyProperties.IdStrategy.TIME_ORDERED ? TIME_ORDERED_ID : RANDOM_ID;
+        return jdbcTemplate.update(INSERT_VALID_ROWS.formatted(id));
+    }
+
+    public void addValidRowsToCoverageAggregates() {
+        jdbcTemplate.update(ADD_VALID_ROWS_TO_COVERAGE_AGGREGATES);
+    }
+
+    /**
+     * Streams each distinct business name among the valid rows, with how many rows carry it,
+     * {@code fetchSize} names per round trip.
+     */
+    public void forEachValidBusinessName(int fetchSize, ObjIntConsumer<String> action) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    SELECT_VALID_BUSINESS_NAME_COUNTS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> action.accept(rs.getString("business_name"), rs.getInt("policies"))
+        );
+    }
+
+    public List<PolicyImportRejection> findRejections(int limit) {
+        return jdbcTemplate.query(SELECT_REJECTIONS, (rs, rowNum) ->
+            new PolicyImportRejection(rs.getLong("row_number"), rs.getString("error")), limit);
+    }
+}
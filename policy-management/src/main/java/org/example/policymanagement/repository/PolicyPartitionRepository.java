@@ -0,0 +1,79 @@
+package org.example.policymanagement.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Quarterly range partitions of {@code policies}. The partitioning and the functions called here
+ * are defined in schema.sql; each quarter is identified by any date inside it.
+ */
+@Repository
+@Timed("policy.repository")
+public class PolicyPartitionRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String CREATE_PARTITION = "SELECT create_policy_partition(?)";
+    private static final String DETACH_PARTITION = "SELECT detach_policy_partition(?)";
+    private static final String SELECT_DEFAULT_PARTITION_QUARTERS =
+        "SELECT DISTINCT date_trunc('quarter', coverage_period)::date FROM policies_default ORDER BY 1";
+
+    public PolicyPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the quarter's partition, moving its rows out of the default partition. False when
+     * the partition already existed.
+     */
+    public boolean createPartition(LocalDate quarter) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(CREATE_PARTITION, Boolean.class, quarter));
+    }
+
+    /**
+     * Detaches the quarter's partition into a standalone table and drops its months from the
+     * coverage aggregates. False when the quarter had no attached partition. Callers go through
+     * PolicyPartitionService, which also takes the quarter out of the in-memory caches.
+     */
+    public boolean detachPartition(LocalDate quarter) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(DETACH_PARTITION, Boolean.class, quarter));
+    }
+
+    /**
+     * Streams the id and business name of every row in the quarter's detached table through a
+     * cursor; must run inside a transaction for the fetch size to take effect.
+     */
+    public void forEachDetachedPolicy(LocalDate quarter, int fetchSize, BiConsumer<UUID, String> action) {
+        // The name is built from two numbers, so it needs no quoting.
+        String sql = "SELECT id, business_name FROM " + partitionName(quarter);
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            },
+            (RowCallbackHandler) rs ->
+                action.accept(UUID.fromString(rs.getString("id")), rs.getString("business_name"))
+        );
+    }
+
+    /** First days of the quarters that have rows in the default partition. */
+    public List<LocalDate> findDefaultPartitionQuarters() {
+        return jdbcTemplate.queryForList(SELECT_DEFAULT_PARTITION_QUARTERS, LocalDate.class);
+    }
+
+    // Matches the naming in create_policy_partition.
+    private static String partitionName(LocalDate quarter) {
+        return "policies_" + quarter.getYear() + "_q" + quarter.get(IsoFields.QUARTER_OF_YEAR);
+    }
+}
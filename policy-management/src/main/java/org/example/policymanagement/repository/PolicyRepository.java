@@ -1,74 +1,294 @@
 package org.example.policymanagement.repository;
 
+import io.micrometer.core.annotation.Timed;
+import org.example.policymanagement.dto.PolicyFilter;
+import org.example.policymanagement.dto.PolicySearchMode;
 import org.example.policymanagement.model.Policy;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Repository
+@Timed("policy.repository")
 public class PolicyRepository {
     private final JdbcTemplate jdbcTemplate;
     
     private static final String INSERT_POLICY = 
         "INSERT INTO policies (id, business_name, coverage_period, coverage_amount) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_POLICIES_RETURNING =
+        "INSERT INTO policies (id, business_name, coverage_period, coverage_amount) " +
+        "SELECT * FROM unnest(CAST(? AS UUID[]), CAST(? AS TEXT[]), CAST(? AS DATE[]), CAST(? AS DOUBLE PRECISION[])) " +
+        "RETURNING id, business_name, coverage_period, coverage_amount, version";
     private static final String SELECT_POLICY_BY_ID = 
-        "SELECT id, business_name, coverage_period, coverage_amount FROM policies WHERE id = ?";
-    private static final String UPDATE_POLICY = 
-        "UPDATE policies SET business_name = ?, coverage_period = ?, coverage_amount = ? WHERE id = ?";
+        "SELECT id, business_name, coverage_period, coverage_amount, version FROM policies WHERE id = ?";
+    private static final String SELECT_VERSION_BY_ID =
+        "SELECT version FROM policies WHERE id = ?";
+    // policies is partitioned by coverage period, so its key is (id, coverage_period) and the id
+    // alone cannot be a conflict target. The update finds the id in any partition, moving the row
+    // if its period changed; the insert runs only when the update found nothing, and its conflict
+    // clause covers a concurrent save of the same new policy.
+    private static final String UPSERT_POLICY =
+        "WITH updated AS (" +
+        "UPDATE policies SET business_name = ?, coverage_period = ?, coverage_amount = ?, version = version + 1 " +
+        "WHERE id = ? RETURNING id, business_name, coverage_period, coverage_amount, version), " +
+        "inserted AS (" +
+        "INSERT INTO policies (id, business_name, coverage_period, coverage_amount) " +
+        "SELECT CAST(? AS UUID), CAST(? AS VARCHAR), CAST(? AS DATE), CAST(? AS DOUBLE PRECISION) " +
+        "WHERE NOT EXISTS (SELECT 1 FROM updated) " +
+        "ON CONFLICT (id, coverage_period) DO UPDATE SET business_name = EXCLUDED.business_name, " +
+        "coverage_amount = EXCLUDED.coverage_amount, version = policies.version + 1 " +
+        "RETURNING id, business_name, coverage_period, coverage_amount, version) " +
+        "SELECT * FROM updated UNION ALL SELECT * FROM inserted";
+    // The FOR UPDATE subquery locks the row and exposes its values from before the update, so the
+    // caller gets old and new state from one round trip. A null expected version skips the check.
+    private static final String UPDATE_POLICY =
+        "UPDATE policies p SET " +
+        "business_name = COALESCE(CAST(? AS VARCHAR), p.business_name), " +
+        "coverage_period = COALESCE(CAST(? AS DATE), p.coverage_period), " +
+        "coverage_amount = COALESCE(CAST(? AS DOUBLE PRECISION), p.coverage_amount), " +
+        "version = p.version + 1 " +
+        "FROM (SELECT id, business_name, coverage_period, coverage_amount, version " +
+        "FROM policies WHERE id = ? FOR UPDATE) previous " +
+        "WHERE p.id = previous.id AND p.coverage_period = previous.coverage_period " +
+        "AND (CAST(? AS BIGINT) IS NULL OR previous.version = ?) " +
+        "RETURNING p.id, p.business_name, p.coverage_period, p.coverage_amount, p.version, " +
+        "previous.business_name AS previous_business_name, previous.coverage_period AS previous_coverage_period, " +
+        "previous.coverage_amount AS previous_coverage_amount, previous.version AS previous_version";
     private static final String DELETE_POLICY = 
-        "DELETE FROM policies WHERE id = ?";
-    private static final String SELECT_ALL_POLICIES = 
-        "SELECT id, business_name, coverage_period, coverage_amount FROM policies";
+        "DELETE FROM policies WHERE id = ? RETURNING id, business_name, coverage_period, coverage_amount, version";
+    private static final String SELECT_POLICIES = 
+        "SELECT id, business_name, coverage_period, coverage_amount, version FROM policies";
+    // lower(business_name) matches the expression indexes in schema.sql: text_pattern_ops serves
+    // prefix patterns, the trigram index serves substring patterns.
+    private static final String SEARCH_POLICIES_BY_NAME =
+        SELECT_POLICIES + " WHERE lower(business_name) LIKE lower(?) ORDER BY lower(business_name), id LIMIT ?";
+    // The period bounds let Postgres prune to the partitions of the quarters they span.
+    private static final String SELECT_POLICIES_BY_COVERAGE_PERIOD =
+        SELECT_POLICIES + " WHERE coverage_period BETWEEN ? AND ?";
+    private static final String SELECT_BUSINESS_NAMES_BY_PREFIX =
+        "SELECT DISTINCT business_name FROM policies WHERE lower(business_name) LIKE lower(?) ORDER BY business_name LIMIT ?";
 
-    private final RowMapper<Policy> policyMapper = (rs, rowNum) -> 
+    static final RowMapper<Policy> POLICY_MAPPER = (rs, rowNum) -> 
         new Policy(
             UUID.fromString(rs.getString("id")),
             rs.getString("business_name"),
             rs.getDate("coverage_period").toLocalDate(),
-            rs.getDouble("coverage_amount")
+            rs.getDouble("coverage_amount"),
+            rs.getLong("version")
         );
 
+    private static final RowMapper<UpdatedPolicy> UPDATED_POLICY_MAPPER = (rs, rowNum) -> {
+        Policy current = POLICY_MAPPER.mapRow(rs, rowNum);
+        Policy previous = new Policy(
+            current.getId(),
+            rs.getString("previous_business_name"),
+            rs.getDate("previous_coverage_period").toLocalDate(),
+            rs.getDouble("previous_coverage_amount"),
+            rs.getLong("previous_version")
+        );
+        return new UpdatedPolicy(previous, current);
+    };
+
     public PolicyRepository(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
     }
 
     public Policy save(Policy policy) {
-        if (findById(policy.getId()).isPresent()) {
-            jdbcTemplate.update(UPDATE_POLICY,
-                policy.getBusinessName(),
-                policy.getCoveragePeriod(),
-                policy.getCoverageAmount(),
-                policy.getId()
-            );
-        } else {
-            jdbcTemplate.update(INSERT_POLICY,
-                policy.getId(),
-                policy.getBusinessName(),
-                policy.getCoveragePeriod(),
-                policy.getCoverageAmount()
-            );
-        }
-        return policy;
+        return jdbcTemplate.queryForObject(UPSERT_POLICY, POLICY_MAPPER,
+            policy.getBusinessName(),
+            policy.getCoveragePeriod(),
+            policy.getCoverageAmount(),
+            policy.getId(),
+            policy.getId(),
+            policy.getBusinessName(),
+            policy.getCoveragePeriod(),
+            policy.getCoverageAmount()
+        );
+    }
+
+    public void saveAll(List<Policy> policies, int chunkSize) {
+        jdbcTemplate.batchUpdate(INSERT_POLICY, policies, chunkSize, (ps, policy) -> {
+            ps.setObject(1, policy.getId());
+            ps.setString(2, policy.getBusinessName());
+            ps.setObject(3, policy.getCoveragePeriod());
+            ps.setDouble(4, policy.getCoverageAmount());
+        });
+    }
+
+    /** Inserts the policies in one statement, one array per column, and returns the stored rows. */
+    public List<Policy> insertAll(List<Policy> policies) {
+        return jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT_POLICIES_RETURNING);
+                statement.setArray(1, connection.createArrayOf("uuid",
+                    policies.stream().map(Policy::getId).toArray(UUID[]::new)));
+                statement.setArray(2, connection.createArrayOf("text",
+                    policies.stream().map(Policy::getBusinessName).toArray(String[]::new)));
+                statement.setArray(3, connection.createArrayOf("date",
+                    policies.stream().map(policy -> policy.getCoveragePeriod().toString()).toArray(String[]::new)));
+                statement.setArray(4, connection.createArrayOf("float8",
+                    policies.stream().map(Policy::getCoverageAmount).toArray(Double[]::new)));
+                return statement;
+            },
+            POLICY_MAPPER
+        );
     }
 
     public Optional<Policy> findById(UUID id) {
         List<Policy> results = jdbcTemplate.query(
             SELECT_POLICY_BY_ID,
-            policyMapper,
+            POLICY_MAPPER,
             id
         );
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
-    public List<Policy> findAll() {
-        return jdbcTemplate.query(SELECT_ALL_POLICIES, policyMapper);
+    /**
+     * Applies the non-null fields in one statement and bumps the version. Empty when the policy
+     * does not exist or, if {@code expectedVersion} is given, has a different version.
+     */
+    public Optional<UpdatedPolicy> update(
+        UUID id,
+        String businessName,
+        LocalDate coveragePeriod,
+        Double coverageAmount,
+        Long expectedVersion
+    ) {
+        List<UpdatedPolicy> results = jdbcTemplate.query(UPDATE_POLICY, UPDATED_POLICY_MAPPER,
+            businessName,
+            coveragePeriod,
+            coverageAmount,
+            id,
+            expectedVersion,
+            expectedVersion
+        );
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
+    public Optional<Long> findVersionById(UUID id) {
+        List<Long> versions = jdbcTemplate.queryForList(SELECT_VERSION_BY_ID, Long.class, id);
+        return versions.isEmpty() ? Optional.empty() : Optional.of(versions.get(0));
+    }
+
+    /**
+     * Keyset page ordered by id: seeking past {@code after} keeps each page a bounded primary-key
+     * range scan no matter how deep the caller has paged.
+     */
+    public List<Policy> findPage(PolicyFilter filter, UUID after, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_POLICIES);
+        appendPageConditions(sql, args, filter, after);
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), POLICY_MAPPER, args.toArray());
+    }
+
+    /**
+     * Hex MD5 of the page {@link #findPage} would return for a page size of {@code pageSize}, as
+     * {@code id:version} pairs joined by commas with a trailing {@code +} when a further page
+     * exists. Only ids and versions are read and a single string comes back, so this is cheap
+     * enough to answer conditional requests before loading the page itself.
+     */
+    public String fingerprintPage(PolicyFilter filter, UUID after, int pageSize) {
+        List<Object> args = new ArrayList<>(List.of(pageSize, pageSize));
+        StringBuilder sql = new StringBuilder(
+            "SELECT md5(COALESCE(string_agg(id::text || ':' || version, ',' ORDER BY id) FILTER (WHERE rn <= ?), '') " +
+            "|| CASE WHEN count(*) > ? THEN '+' ELSE '' END) " +
+            "FROM (SELECT id, version, row_number() OVER (ORDER BY id) AS rn FROM policies");
+        appendPageConditions(sql, args, filter, after);
+        sql.append(" ORDER BY id LIMIT ?) page");
+        args.add(pageSize + 1);
+        return jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+    }
+
+    private static void appendPageConditions(StringBuilder sql, List<Object> args, PolicyFilter filter, UUID after) {
+        List<String> conditions = new ArrayList<>();
+        if (after != null) {
+            conditions.add("id > ?");
+            args.add(after);
+        }
+        if (StringUtils.hasText(filter.businessName())) {
+            conditions.add("lower(business_name) LIKE lower(?)");
+            args.add("%" + escapeLikePattern(filter.businessName()) + "%");
+        }
+        if (filter.coveragePeriodFrom() != null) {
+            conditions.add("coverage_period >= ?");
+            args.add(filter.coveragePeriodFrom());
+        }
+        if (filter.coveragePeriodTo() != null) {
+            conditions.add("coverage_period <= ?");
+            args.add(filter.coveragePeriodTo());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    /**
+     * Keyset page of the policies whose coverage period lies between {@code from} and {@code to},
+     * both inclusive, ordered by coverage period and then id. The page starts after the policy
+     * identified by {@code afterPeriod} and {@code afterId}, or at the start of the range when
+     * they are null.
+     */
+    public List<Policy> findByCoveragePeriod(LocalDate from, LocalDate to, LocalDate afterPeriod, UUID afterId, int limit) {
+        List<Object> args = new ArrayList<>(List.of(from, to));
+        StringBuilder sql = new StringBuilder(SELECT_POLICIES_BY_COVERAGE_PERIOD);
+        if (afterPeriod != null) {
+            sql.append(" AND (coverage_period, id) > (?, ?)");
+            args.add(afterPeriod);
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY coverage_period, id LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), POLICY_MAPPER, args.toArray());
+    }
+
+    public List<Policy> searchByBusinessName(String term, PolicySearchMode mode, int limit) {
+        String pattern = escapeLikePattern(term) + "%";
+        if (mode == PolicySearchMode.CONTAINS) {
+            pattern = "%" + pattern;
+        }
+        return jdbcTemplate.query(SEARCH_POLICIES_BY_NAME, POLICY_MAPPER, pattern, limit);
+    }
+
+    public List<String> findBusinessNamesByPrefix(String prefix, int limit) {
+        return jdbcTemplate.queryForList(
+            SELECT_BUSINESS_NAMES_BY_PREFIX, String.class, escapeLikePattern(prefix) + "%", limit);
+    }
+
+    /**
+     * Streams every policy to {@code action} without materializing the table. The Postgres driver
+     * only honours the fetch size with autocommit off, so call this inside a transaction.
+     */
+    public void forEach(int fetchSize, Consumer<Policy> action) {
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    SELECT_POLICIES, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> action.accept(POLICY_MAPPER.mapRow(rs, 0))
+        );
+    }
+
+    public Optional<Policy> deleteById(UUID id) {
+        List<Policy> deleted = jdbcTemplate.query(DELETE_POLICY, POLICY_MAPPER, id);
+        return deleted.isEmpty() ? Optional.empty() : Optional.of(deleted.get(0));
     }
 
-    public void deleteById(UUID id) {
-        jdbcTemplate.update(DELETE_POLICY, id);
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package org.example.policymanagement.repository;
+
+import org.example.policymanagement.model.Policy;
+
+/** A policy as it was immediately before an update and as the update left it. */
+public record UpdatedPolicy(
+    Policy previous,
+    Policy current
+) {}
@@ -0,0 +1,43 @@
+package org.example.policymanagement.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.dto.CoverageAggregate;
+import org.example.policymanagement.dto.CoverageAggregateMismatch;
+import org.example.policymanagement.dto.CoverageConsistencyReport;
+import org.example.policymanagement.exception.PolicyValidationException;
+import org.example.policymanagement.repository.CoverageAggregateRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Timed("policy.service")
+@RequiredArgsConstructor
+public class CoverageAggregateService {
+
+    private final CoverageAggregateRepository coverageAggregateRepository;
+
+    @DatabaseAccess(DatabaseAccess.Kind.READ)
+    public List<CoverageAggregate> getCoverageByMonth(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new PolicyValidationException("Coverage period start must not be after end");
+        }
+        return coverageAggregateRepository.findByMonthBetween(
+            from == null ? null : from.withDayOfMonth(1),
+            to == null ? null : to.withDayOfMonth(1)
+        );
+    }
+
+    // Repeatable read gives the stored buckets and the recompute the same snapshot, so concurrent
+    // writes cannot show up as false mismatches.
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @DatabaseAccess(DatabaseAccess.Kind.READ)
+    public CoverageConsistencyReport checkConsistency() {
+        List<CoverageAggregateMismatch> mismatches = coverageAggregateRepository.findMismatches();
+        return new CoverageConsistencyReport(mismatches.isEmpty(), mismatches);
+    }
+}
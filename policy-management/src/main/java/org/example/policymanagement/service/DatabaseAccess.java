@@ -0,0 +1,20 @@
+package org.example.policymanagement.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method that works against the database, and whether it reads or writes. With
+ * {@code policy.admission.enabled} each kind is admitted through its own bulkhead before the
+ * method, and any transaction it opens, can take a connection.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DatabaseAccess {
+
+    Kind value();
+
+    enum Kind { READ, WRITE }
+}
@@ -0,0 +1,137 @@
+package org.example.policymanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.dto.PolicyCacheStats;
+import org.example.policymanagement.model.Policy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for single-policy lookups. Absent policies are cached too, under a
+ * shorter TTL, so repeated lookups of unknown IDs do not each reach the database.
+ *
+ * <p>{@link Policy} is mutable, so the cache keeps its own copy of every policy and hands each
+ * caller a fresh one; changing a returned policy never changes what later callers see.
+ *
+ * <p>Writes made inside a transaction reach the cache only after it commits, so a rolled-back
+ * change is never served.
+ */
+@Component
+public class PolicyCache implements MeterBinder {
+
+    private final Cache<UUID, Optional<Policy>> cache;
+
+    public PolicyCache(PolicyProperties properties) {
+        PolicyProperties.Cache config = properties.getCache();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfter(new PresenceAwareExpiry(config.getTtl(), config.getNegativeTtl()))
+            .recordStats()
+            .build();
+    }
+
+    public Optional<Policy> get(UUID id, Function<UUID, Optional<Policy>> loader) {
+        return cache.get(id, key -> loader.apply(key).map(PolicyCache::copyOf)).map(PolicyCache::copyOf);
+    }
+
+    /** The cached policy, if one is cached. Does not load, and does not count as a hit or miss. */
+    public Optional<Policy> getIfCached(UUID id) {
+        Optional<Policy> cached = cache.policy().getIfPresentQuietly(id);
+        return cached == null ? Optional.empty() : cached.map(PolicyCache::copyOf);
+    }
+
+    public void put(Policy policy) {
+        Policy copy = copyOf(policy);
+        afterCommit(() -> cache.put(copy.getId(), Optional.of(copy)));
+    }
+
+    public void putAbsent(UUID id) {
+        afterCommit(() -> cache.put(id, Optional.empty()));
+    }
+
+    /**
+     * Marks a cached policy as absent. Unlike {@link #putAbsent}, ids that are not cached stay
+     * uncached, so removing many policies at once does not push other entries out.
+     */
+    public void evict(UUID id) {
+        afterCommit(() -> cache.asMap().computeIfPresent(id, (key, cached) -> Optional.empty()));
+    }
+
+    /** Drops the id, found or not, so the next lookup reads the database. */
+    public void invalidate(UUID id) {
+        afterCommit(() -> cache.invalidate(id));
+    }
+
+    public void invalidateAll() {
+        afterCommit(cache::invalidateAll);
+    }
+
+    public PolicyCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new PolicyCacheStats(
+            stats.hitCount(),
+            stats.missCount(),
+            stats.evictionCount(),
+            cache.estimatedSize()
+        );
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "policies");
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static Policy copyOf(Policy policy) {
+        return new Policy(
+            policy.getId(),
+            policy.getBusinessName(),
+            policy.getCoveragePeriod(),
+            policy.getCoverageAmount(),
+            policy.getVersion()
+        );
+    }
+
+    private record PresenceAwareExpiry(Duration ttl, Duration negativeTtl) implements Expiry<UUID, Optional<Policy>> {
+
+        @Override
+        public long expireAfterCreate(UUID key, Optional<Policy> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Optional<Policy> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Optional<Policy> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
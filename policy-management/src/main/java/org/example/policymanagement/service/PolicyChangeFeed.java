@@ -0,0 +1,190 @@
+package org.example.policymanagement.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed policy changes to Server-Sent Events subscribers. The last
+ * {@code policy.change-feed.buffer-size} changes are kept in memory so a client that reconnects
+ * with {@code Last-Event-ID} receives what it missed. Event ids are {@code <epoch>-<sequence>},
+ * where the epoch identifies this process; a client whose last id is from another process or
+ * older than the buffer gets a {@code reset} event instead and should reload.
+ *
+ * <p>Each subscriber is served by its own virtual thread from a bounded queue, so a slow client
+ * never holds up the request that made the change. A subscriber that falls a whole queue behind
+ * is disconnected and can resume from its last id.
+ */
+@Component
+public class PolicyChangeFeed implements MeterBinder {
+
+    private static final Object RESET = new Object();
+
+    private final PolicyProperties.ChangeFeed config;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Deque<Entry> buffer = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long nextSequence = 1;
+    // Lowest sequence from which the history is complete, raised by eviction and by reset().
+    private long resumableFrom = 1;
+
+    public PolicyChangeFeed(PolicyProperties properties) {
+        this.config = properties.getChangeFeed();
+    }
+
+    /** Runs after the change commits, or straight away when it was not made in a transaction. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPolicyChanged(PolicyChangeEvent event) {
+        // With LISTEN/NOTIFY the relay appends every instance's changes, this one's included.
+        if (!config.isListenNotify()) {
+            append(event);
+        }
+    }
+
+    public synchronized void append(PolicyChangeEvent event) {
+        Entry entry = new Entry(nextSequence, epoch + "-" + nextSequence, event);
+        nextSequence++;
+        buffer.addLast(entry);
+        if (buffer.size() > config.getBufferSize()) {
+            resumableFrom = buffer.removeFirst().sequence() + 1;
+        }
+        subscribers.forEach(subscriber -> subscriber.offer(entry));
+    }
+
+    /** Discards the history and tells every subscriber to reload, for when changes may have been missed. */
+    public synchronized void reset() {
+        buffer.clear();
+        resumableFrom = nextSequence;
+        subscribers.forEach(subscriber -> subscriber.offer(RESET));
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(config.getEmitterTimeout().toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, config.getBufferSize() + config.getSubscriberQueueCapacity());
+        synchronized (this) {
+            if (lastEventId != null) {
+                Optional<List<Entry>> missed = replayAfter(lastEventId);
+                if (missed.isPresent()) {
+                    missed.get().forEach(subscriber::offer);
+                } else {
+                    subscriber.offer(RESET);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        Thread.ofVirtual().name("policy-change-subscriber").start(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("policy.change.feed.subscribers", subscribers, Set::size)
+            .description("Open change feed connections")
+            .register(registry);
+    }
+
+    /** Changes after {@code lastEventId}, or empty if some of them are no longer known. */
+    synchronized Optional<List<Entry>> replayAfter(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return Optional.empty();
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (lastSequence + 1 < resumableFrom || lastSequence >= nextSequence) {
+            return Optional.empty();
+        }
+        List<Entry> missed = new ArrayList<>();
+        for (Entry entry : buffer) {
+            if (entry.sequence() > lastSequence) {
+                missed.add(entry);
+            }
+        }
+        return Optional.of(missed);
+    }
+
+    record Entry(long sequence, String id, PolicyChangeEvent event) {}
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Object item) {
+            if (!queue.offer(item)) {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+                    Object next = queue.poll(config.getHeartbeatInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    if (closed) {
+                        break;
+                    }
+                    if (next == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (next == RESET) {
+                        emitter.send(SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON));
+                    } else {
+                        Entry entry = (Entry) next;
+                        emitter.send(SseEmitter.event()
+                            .id(entry.id())
+                            .name(entry.event().type().name().toLowerCase(Locale.ROOT))
+                            .data(entry.event(), MediaType.APPLICATION_JSON));
+                    }
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed; nothing left to clean up.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } finally {
+                close();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.policymanagement.service;
+
+import org.example.policymanagement.dto.PolicyPage;
+import org.example.policymanagement.exception.PolicyValidationException;
+import org.example.policymanagement.model.Policy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Entity tags for policy responses. A single policy's tag is its version. A page's tag hashes the
+ * ids and versions on it the same way {@code PolicyRepository.fingerprintPage} does in SQL, so a
+ * page tag can be checked without loading the page.
+ *
+ * <p>Tags are weak: the JSON and CBOR representations of a version carry the same tag but not the
+ * same bytes, which a strong tag would promise.
+ */
+public final class PolicyETags {
+
+    private PolicyETags() {
+    }
+
+    public static String forVersion(long version) {
+        return quote(Long.toString(version));
+    }
+
+    /**
+     * The version named by an {@code If-Match} value this class issued, weak or not; null when there
+     * is no header. A list or {@code *} is not a version and is rejected as invalid.
+     */
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new PolicyValidationException("Invalid If-Match");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PolicyValidationException("Invalid If-Match");
+        }
+    }
+
+    public static String forPolicy(Policy policy) {
+        return forVersion(policy.getVersion());
+    }
+
+    public static String forPage(PolicyPage page) {
+        StringBuilder content = new StringBuilder();
+        for (Policy policy : page.items()) {
+            if (!content.isEmpty()) {
+                content.append(',');
+            }
+            content.append(policy.getId()).append(':').append(policy.getVersion());
+        }
+        if (page.nextCursor() != null) {
+            content.append('+');
+        }
+        return forPageFingerprint(md5Hex(content.toString()));
+    }
+
+    static String forPageFingerprint(String fingerprint) {
+        return quote(fingerprint);
+    }
+
+    private static String md5Hex(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is required on every Java platform", e);
+        }
+    }
+
+    private static String quote(String value) {
+        return "W/\"" + value + "\"";
+    }
+}
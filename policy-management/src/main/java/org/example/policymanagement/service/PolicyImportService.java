@@ -0,0 +1,87 @@
+package org.example.policymanagement.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.example.policymanagement.dto.PolicyImportRejection;
+import org.example.policymanagement.dto.PolicyImportResult;
+import org.example.policymanagement.dto.PolicyImportStatus;
+import org.example.policymanagement.repository.PolicyImportRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Timed("policy.service")
+@RequiredArgsConstructor
+public class PolicyImportService {
+
+    private final PolicyImportRepository policyImportRepository;
+    private final PolicyImportTracker policyImportTracker;
+    private final PolicyNameIndex policyNameIndex;
+    private final PolicyProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Streams a CSV with the header {@code business_name,coverage_period,coverage_amount} into
+     * {@code policies} in one transaction. Rows that break the create rules are skipped and
+     * reported by their 1-based data row number; malformed CSV aborts the whole import.
+     *
+     * @param totalBytes size of the upload if known, otherwise -1; only used for progress
+     */
+    @Transactional
+    public PolicyImportResult importCsv(InputStream csv, long totalBytes) {
+        PolicyProperties.BulkImport config = properties.getBulkImport();
+        PolicyImportTracker.Progress progress = policyImportTracker.start(totalBytes);
+        try {
+            policyImportRepository.createStagingTable();
+            long staged = policyImportRepository.copyIntoStaging(progress.track(csv), config.getCopyBufferSize());
+            progress.staged(staged);
+
+            long rejected = policyImportRepository.markInvalidRows();
+            progress.inserting(rejected);
+
+            long imported = policyImportRepository.insertValidRows(properties.getIds().getStrategy());
+            policyImportRepository.addValidRowsToCoverageAggregates();
+            if (policyNameIndex.isReady()) {
+                addImportedNamesToIndex();
+            }
+            List<PolicyImportRejection> rejections = rejected == 0
+                ? List.of()
+                : policyImportRepository.findRejections(config.getMaxReportedRejections());
+            if (imported > 0) {
+                eventPublisher.publishEvent(PolicyChangeEvent.imported());
+            }
+            progress.completeOnCommit(imported);
+            return new PolicyImportResult(progress.id(), staged, imported, rejected, rejections);
+        } catch (RuntimeException e) {
+            progress.fail(e.getMessage());
+            throw e;
+        }
+    }
+
+    public Optional<PolicyImportStatus> getImport(UUID id) {
+        return policyImportTracker.get(id);
+    }
+
+    public List<PolicyImportStatus> getImports() {
+        return policyImportTracker.list();
+    }
+
+    // The staging table is dropped on commit, but the index only changes after commit, so the
+    // names are collected first. They are read through a cursor and grouped by the database, so
+    // only one entry per distinct name is held: what the index keeps after commit anyway.
+    private void addImportedNamesToIndex() {
+        Map<String, Integer> names = new HashMap<>();
+        policyImportRepository.forEachValidBusinessName(properties.getExport().getFetchSize(), names::put);
+        policyNameIndex.addAll(names);
+    }
+}
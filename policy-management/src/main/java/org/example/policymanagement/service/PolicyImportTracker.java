@@ -0,0 +1,156 @@
+package org.example.policymanagement.service;
+
+import org.example.policymanagement.dto.PolicyImportPhase;
+import org.example.policymanagement.dto.PolicyImportStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of running imports and the outcome of the most recent finished ones, for polling
+ * while a long upload is in flight.
+ */
+@Component
+public class PolicyImportTracker {
+
+    static final int RETAINED_FINISHED_IMPORTS = 100;
+
+    private final Map<UUID, Progress> imports = new ConcurrentHashMap<>();
+    private final Queue<UUID> finished = new ConcurrentLinkedQueue<>();
+
+    public Progress start(long totalBytes) {
+        Progress progress = new Progress(UUID.randomUUID(), totalBytes);
+        imports.put(progress.id, progress);
+        return progress;
+    }
+
+    public Optional<PolicyImportStatus> get(UUID id) {
+        return Optional.ofNullable(imports.get(id)).map(Progress::status);
+    }
+
+    public List<PolicyImportStatus> list() {
+        return imports.values().stream()
+            .map(Progress::status)
+            .sorted(Comparator.comparing(PolicyImportStatus::startedAt).reversed())
+            .toList();
+    }
+
+    private void retire(Progress progress) {
+        finished.add(progress.id);
+        while (finished.size() > RETAINED_FINISHED_IMPORTS) {
+            UUID oldest = finished.poll();
+            if (oldest != null) {
+                imports.remove(oldest);
+            }
+        }
+    }
+
+    public final class Progress {
+        private final UUID id;
+        private final long totalBytes;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong bytesRead = new AtomicLong();
+        private volatile PolicyImportPhase phase = PolicyImportPhase.COPYING;
+        private volatile long rowsStaged;
+        private volatile long imported;
+        private volatile long rejected;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Progress(UUID id, long totalBytes) {
+            this.id = id;
+            this.totalBytes = totalBytes;
+        }
+
+        public UUID id() {
+            return id;
+        }
+
+        /** Wraps the upload so every byte handed to COPY is counted. */
+        public InputStream track(InputStream in) {
+            return new FilterInputStream(in) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        bytesRead.incrementAndGet();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        bytesRead.addAndGet(read);
+                    }
+                    return read;
+                }
+            };
+        }
+
+        public void staged(long rows) {
+            rowsStaged = rows;
+            phase = PolicyImportPhase.VALIDATING;
+        }
+
+        public void inserting(long rejectedRows) {
+            rejected = rejectedRows;
+            phase = PolicyImportPhase.INSERTING;
+        }
+
+        /** Marks the import complete once the surrounding transaction commits, or failed if it rolls back. */
+        public void completeOnCommit(long importedRows) {
+            imported = importedRows;
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                finish(PolicyImportPhase.COMPLETED);
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        finish(PolicyImportPhase.COMPLETED);
+                    } else {
+                        fail("Import transaction was rolled back");
+                    }
+                }
+            });
+        }
+
+        public void fail(String message) {
+            if (error == null) {
+                error = message;
+            }
+            finish(PolicyImportPhase.FAILED);
+        }
+
+        private synchronized void finish(PolicyImportPhase outcome) {
+            if (finishedAt != null) {
+                return;
+            }
+            phase = outcome;
+            finishedAt = Instant.now();
+            retire(this);
+        }
+
+        private PolicyImportStatus status() {
+            return new PolicyImportStatus(
+                id, phase, bytesRead.get(), totalBytes, rowsStaged, imported, rejected, startedAt, finishedAt, error);
+        }
+    }
+}
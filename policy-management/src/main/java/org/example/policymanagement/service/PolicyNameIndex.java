@@ -0,0 +1,126 @@
+package org.example.policymanagement.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.repository.PolicyRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory, case-insensitive sorted set of business names for autocomplete, with a reference
+ * count per name so deletes only drop a name once no policy uses it. A prefix lookup is a seek
+ * into the skip list plus a walk over at most {@code limit} entries.
+ *
+ * <p>Loaded once at startup, before the web server starts, so no request can write while the
+ * load reads; from then on it is kept current by this instance's writes, applied after commit.
+ * Writes made by other instances are not seen until restart.
+ */
+@Component
+public class PolicyNameIndex implements MeterBinder, SmartInitializingSingleton {
+
+    private final PolicyRepository policyRepository;
+    private final TransactionOperations transactionOperations;
+    private final PolicyProperties properties;
+    private final ConcurrentSkipListMap<String, Integer> names = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+    private volatile boolean ready;
+
+    public PolicyNameIndex(
+        PolicyRepository policyRepository,
+        TransactionOperations transactionOperations,
+        PolicyProperties properties
+    ) {
+        this.policyRepository = policyRepository;
+        this.transactionOperations = transactionOperations;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    public void load() {
+        if (!properties.getNameIndex().isEnabled()) {
+            return;
+        }
+        transactionOperations.executeWithoutResult(status ->
+            policyRepository.forEach(properties.getExport().getFetchSize(), policy -> increment(policy.getBusinessName())));
+        ready = true;
+    }
+
+    /** Whether lookups can be answered from memory; until then callers should query the database. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        List<String> suggestions = new ArrayList<>(limit);
+        for (String name : names.tailMap(prefix, true).keySet()) {
+            if (suggestions.size() == limit || !name.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                break;
+            }
+            suggestions.add(name);
+        }
+        return suggestions;
+    }
+
+    public void add(String businessName) {
+        afterCommit(() -> increment(businessName));
+    }
+
+    /** Adds each name as many times as its count, as if each policy had been added on its own. */
+    public void addAll(Map<String, Integer> businessNameCounts) {
+        afterCommit(() -> businessNameCounts.forEach((name, count) -> names.merge(name, count, Integer::sum)));
+    }
+
+    public void remove(String businessName) {
+        afterCommit(() -> names.computeIfPresent(businessName, (name, count) -> count == 1 ? null : count - 1));
+    }
+
+    /** Removes each name as many times as its count, as if each policy had been deleted on its own. */
+    public void removeAll(Map<String, Integer> businessNameCounts) {
+        afterCommit(() -> businessNameCounts.forEach((businessName, removed) ->
+            names.computeIfPresent(businessName, (name, count) -> count <= removed ? null : count - removed)));
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("policy.name.index.size", names, Map::size)
+            .description("Distinct business names held for autocomplete")
+            .register(registry);
+    }
+
+    private void increment(String businessName) {
+        names.merge(businessName, 1, Integer::sum);
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!properties.getNameIndex().isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.policymanagement.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.repository.PolicyPartitionRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the quarterly partitions of {@code policies} ahead of the data. At startup and then every
+ * {@code policy.partitions.check-interval} it creates the partitions for the current quarter and
+ * the next {@code quarters-ahead}, and gives every quarter found in the default partition a
+ * partition of its own, which moves its rows there. A failed run is counted and retried at the
+ * next interval; until then new rows still land in the default partition.
+ */
+@Component
+public class PolicyPartitionMaintainer implements MeterBinder, SmartInitializingSingleton {
+
+    private final PolicyPartitionRepository partitionRepository;
+    private final PolicyProperties.Partitions config;
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public PolicyPartitionMaintainer(PolicyPartitionRepository partitionRepository, PolicyProperties properties) {
+        this.partitionRepository = partitionRepository;
+        this.config = properties.getPartitions();
+    }
+
+    // Runs once every singleton, the schema initializer included, is created and before the web
+    // server starts, so the current quarter has its partition before the first request.
+    @Override
+    public void afterSingletonsInstantiated() {
+        maintainQuietly();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("policy-partitions").daemon().factory());
+        long interval = config.getCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::maintainQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /** Creates the partitions due on {@code today} and returns how many were missing. */
+    public int maintain(LocalDate today) {
+        int createdNow = 0;
+        LocalDate quarter = today.with(IsoFields.DAY_OF_QUARTER, 1);
+        for (int i = 0; i <= config.getQuartersAhead(); i++) {
+            if (partitionRepository.createPartition(quarter.plusMonths(3L * i))) {
+                createdNow++;
+            }
+        }
+        for (LocalDate stray : partitionRepository.findDefaultPartitionQuarters()) {
+            if (partitionRepository.createPartition(stray)) {
+                createdNow++;
+            }
+        }
+        created.addAndGet(createdNow);
+        return createdNow;
+    }
+
+    // The scheduler cancels a task that throws, so failures are counted instead.
+    private void maintainQuietly() {
+        try {
+            maintain(LocalDate.now());
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("policy.partitions.created", created, AtomicLong::get)
+            .description("Policies partitions created by this instance")
+            .register(registry);
+        FunctionCounter.builder("policy.partitions.maintenance.failures", failures, AtomicLong::get)
+            .description("Partition maintenance runs that failed and wait for the next interval")
+            .register(registry);
+    }
+}
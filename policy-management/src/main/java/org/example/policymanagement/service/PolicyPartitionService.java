@@ -0,0 +1,60 @@
+package org.example.policymanagement.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.example.policymanagement.repository.PolicyPartitionRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Retires coverage quarters. A detach removes a quarter's policies without deleting them row by
+ * row, so nothing else hears about them: this service takes them out of the policy cache and the
+ * name index, and sends change-feed subscribers a single {@code detached} event to reload on.
+ * That pass, like the database's removal of the quarter's ids, takes time in proportion to the
+ * quarter's rows.
+ */
+@Service
+@Timed("policy.service")
+@RequiredArgsConstructor
+public class PolicyPartitionService {
+
+    private final PolicyPartitionRepository policyPartitionRepository;
+    private final PolicyCache policyCache;
+    private final PolicyNameIndex policyNameIndex;
+    private final PolicyProperties properties;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Detaches the partition of the quarter containing {@code quarter}. False when the quarter had
+     * no attached partition, in which case nothing changes.
+     */
+    @DatabaseAccess(DatabaseAccess.Kind.WRITE)
+    public boolean detachQuarter(LocalDate quarter) {
+        Boolean detached = transactionOperations.execute(status -> policyPartitionRepository.detachPartition(quarter));
+        if (!Boolean.TRUE.equals(detached)) {
+            return false;
+        }
+        // The detach holds an exclusive lock on policies until it commits, so the quarter's rows
+        // are read back from the standalone table afterwards rather than inside that transaction.
+        Map<String, Integer> names = new HashMap<>();
+        boolean indexNames = policyNameIndex.isReady();
+        transactionOperations.executeWithoutResult(status -> policyPartitionRepository.forEachDetachedPolicy(
+            quarter, properties.getExport().getFetchSize(), (id, businessName) -> {
+                policyCache.evict(id);
+                if (indexNames) {
+                    names.merge(businessName, 1, Integer::sum);
+                }
+            }));
+        policyNameIndex.removeAll(names);
+        eventPublisher.publishEvent(PolicyChangeEvent.detached());
+        return true;
+    }
+}
@@ -1,64 +1,407 @@
 package org.example.policymanagement.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.config.ReplicaRoutingDataSource;
+import org.example.policymanagement.dto.BatchCreatePolicyResponse;
+import org.example.policymanagement.dto.BatchCreatePolicyResult;
+import org.example.policymanagement.dto.CreatePolicyRequest;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.example.policymanagement.dto.PolicyFilter;
+import org.example.policymanagement.dto.PolicyPage;
+import org.example.policymanagement.dto.PolicySearchMode;
+import org.example.policymanagement.exception.PolicyConflictException;
+import org.example.policymanagement.exception.PolicyPreconditionRequiredException;
+import org.example.policymanagement.exception.PolicyServiceOverloadedException;
 import org.example.policymanagement.exception.PolicyValidationException;
 import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.repository.CoverageAggregateRepository;
 import org.example.policymanagement.repository.PolicyRepository;
+import org.example.policymanagement.repository.UpdatedPolicy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
+@Timed("policy.service")
 @RequiredArgsConstructor
 public class PolicyService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 100;
+    // Shorter terms have no trigram to look up, so a substring search would scan the table.
+    static final int MIN_CONTAINS_TERM_LENGTH = 3;
+    private static final String SERIALIZATION_FAILURE = "40001";
+
     private final PolicyRepository policyRepository;
+    private final CoverageAggregateRepository coverageAggregateRepository;
+    private final PolicyProperties properties;
+    private final PolicyCache policyCache;
+    private final PolicyNameIndex policyNameIndex;
+    private final PolicyWriteBuffer policyWriteBuffer;
+    private final PolicyIdGenerator policyIdGenerator;
+    private final RecentPolicyWrites recentPolicyWrites;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // Neither @Transactional nor admitted here: the write buffer commits the insert, possibly
+    // together with others, and holding a connection or a write permit while waiting for that
+    // would defeat the grouping. Only a direct insert is admitted as a write.
     public Policy createPolicy(String businessName, LocalDate coveragePeriod, double coverageAmount) {
         validateCreatePolicy(businessName, coveragePeriod, coverageAmount);
-        Policy policy = new Policy(businessName, coveragePeriod, coverageAmount);
-        return policyRepository.save(policy);
+        Policy policy = new Policy(policyIdGenerator.next(), businessName, coveragePeriod, coverageAmount);
+        Policy saved = policyWriteBuffer.insertBuffered(policy)
+            .orElseGet(() -> policyWriteBuffer.insertDirectly(policy));
+        recentPolicyWrites.record(saved.getId());
+        policyCache.put(saved);
+        policyNameIndex.add(saved.getBusinessName());
+        eventPublisher.publishEvent(PolicyChangeEvent.created(saved));
+        return saved;
     }
 
+    /**
+     * Validates every request with the single-create rules and inserts the valid ones in chunked
+     * JDBC batches within one transaction. Invalid items are reported rather than failing the batch.
+     */
+    @Transactional
+    @DatabaseAccess(DatabaseAccess.Kind.WRITE)
+    public BatchCreatePolicyResponse createPolicies(List<CreatePolicyRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new PolicyValidationException("At least one policy is required");
+        }
+        int maxSize = properties.getBatch().getMaxSize();
+        if (requests.size() > maxSize) {
+            throw new PolicyValidationException("At most " + maxSize + " policies can be created in one batch");
+        }
+        List<BatchCreatePolicyResult> results = new ArrayList<>(requests.size());
+        List<Policy> policies = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            CreatePolicyRequest request = requests.get(index);
+            try {
+                if (request == null) {
+                    throw new PolicyValidationException("Policy is required");
+                }
+                validateCreatePolicy(request.businessName(), request.coveragePeriod(), request.coverageAmount());
+            } catch (PolicyValidationException e) {
+                results.add(new BatchCreatePolicyResult(index, null, e.getMessage()));
+                continue;
+            }
+            Policy policy = new Policy(
+                policyIdGenerator.next(), request.businessName(), request.coveragePeriod(), request.coverageAmount());
+            policies.add(policy);
+            results.add(new BatchCreatePolicyResult(index, policy.getId(), null));
+        }
+        policyRepository.saveAll(policies, properties.getBatch().getChunkSize());
+        coverageAggregateRepository.addAll(policies);
+        policies.forEach(policy -> {
+            recentPolicyWrites.record(policy.getId());
+            policyNameIndex.add(policy.getBusinessName());
+            eventPublisher.publishEvent(PolicyChangeEvent.created(policy));
+        });
+        return new BatchCreatePolicyResponse(policies.size(), requests.size() - policies.size(), results);
+    }
+
+    @DatabaseAccess(DatabaseAccess.Kind.READ)
     public Optional<Policy> getPolicy(UUID id) {
         if (id == null) {
             throw new PolicyValidationException("Policy ID cannot be null");
         }
-        return policyRepository.findById(id);
+        if (recentPolicyWrites.contains(id)) {
+            return ReplicaRoutingDataSource.onPrimary(() -> policyCache.get(id, policyRepository::findById));
+        }
+        return policyCache.get(id, policyRepository::findById);
+    }
+
+    /**
+     * The policy's current entity tag, from the cache when it holds the policy, otherwise from a
+     * version-only query. Empty when the policy does not exist.
+     */
+    @DatabaseAccess(DatabaseAccess.Kind.READ)
+    public Optional<String> getPolicyETag(UUID id) {
+        if (id == null) {
+            throw new PolicyValidationException("Policy ID cannot be null");
+        }
+        Optional<Policy> cached = policyCache.getIfCached(id);
+        if (cached.isPresent()) {
+            return Optional.of(PolicyETags.forPolicy(cached.get()));
+        }
+        if (recentPolicyWrites.contains(id)) {
+            return ReplicaRoutingDataSource.onPrimary(
+                () -> policyRepository.findVersionById(id).map(PolicyETags::forVersion));
+        }
+        return policyRepository.findVersionById(id).map(PolicyETags::forVersion);
     }
 
-    public Optional<Policy> updatePolicy(UUID id, String businessName, LocalDate coveragePeriod, Double coverageAmount) {
+    /**
+     * Applies the non-null fields in a single UPDATE. When {@code expectedVersion} is given the
+     * update only succeeds if the stored policy still has that version; otherwise a
+     * {@link PolicyConflictException} reports that someone else changed it first. Without it the
+     * update is applied unconditionally, unless {@code policy.updates.require-version} is on.
+     */
+    @Transactional
+    @DatabaseAccess(DatabaseAccess.Kind.WRITE)
+    public Optional<Policy> updatePolicy(
+        UUID id,
+        String businessName,
+        LocalDate coveragePeriod,
+        Double coverageAmount,
+        Long expectedVersion
+    ) {
         validateUpdatePolicy(id, businessName, coveragePeriod, coverageAmount);
-        return policyRepository.findById(id)
-            .map(policy -> {
-                if (businessName != null) policy.setBusinessName(businessName);
-                if (coveragePeriod != null) policy.setCoveragePeriod(coveragePeriod);
-                if (coverageAmount != null) policy.setCoverageAmount(coverageAmount);
-                return policyRepository.save(policy);
-            });
+        if (expectedVersion == null && properties.getUpdates().isRequireVersion()) {
+            throw new PolicyPreconditionRequiredException(
+                "Updates must give the version last read, in the body or in If-Match");
+        }
+        Optional<UpdatedPolicy> updated;
+        try {
+            updated = policyRepository.update(id, businessName, coveragePeriod, coverageAmount, expectedVersion);
+            updated.ifPresent(u -> moveCoverage(u.previous(), u.current()));
+        } catch (PessimisticLockingFailureException e) {
+            throw lockFailure(e);
+        }
+        if (updated.isEmpty()) {
+            // Only the failure path pays for telling "missing" apart from "stale".
+            if (expectedVersion != null && policyRepository.findVersionById(id).isPresent()) {
+                throw new PolicyConflictException(
+                    "Policy was modified concurrently; reload it and retry from the current version");
+            }
+            return Optional.empty();
+        }
+        Policy previous = updated.get().previous();
+        Policy saved = updated.get().current();
+        recentPolicyWrites.record(id);
+        policyCache.put(saved);
+        if (!previous.getBusinessName().equals(saved.getBusinessName())) {
+            policyNameIndex.remove(previous.getBusinessName());
+            policyNameIndex.add(saved.getBusinessName());
+        }
+        eventPublisher.publishEvent(PolicyChangeEvent.updated(saved));
+        return Optional.of(saved);
+    }
+
+    @DatabaseAccess(DatabaseAccess.Kind.READ)
+    public PolicyPage getPolicies(PolicyFilter filter, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        validateFilter(filter);
+        UUID after = cursor == null ? null : decodeCursor(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        List<Policy> rows = policyRepository.findPage(filter, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new PolicyPage(rows, null);
+        }
+        List<Policy> items = List.copyOf(rows.subList(0, pageSize));
+        return new PolicyPage(items, encodeCursor(items.get(pageSize - 1).getId()));
+    }
+
+    /**
+     * Policies whose coverage period lies between {@code from} and {@code to}, both inclusive, a
+     * page at a time in coverage period order and then by id.
+     */
+    @DatabaseAccess(DatabaseAccess.Kind.READ)
+    public PolicyPage getPoliciesByCoveragePeriod(LocalDate from, LocalDate to, String cursor, Integer limit) {
+        if (from == null || to == null) {
+            throw new PolicyValidationException("Coverage period start and end are required");
+        }
+        if (from.isAfter(to)) {
+            throw new PolicyValidationException("Coverage period start must not be after end");
+        }
+        int pageSize = resolvePageSize(limit);
+        PeriodCursor after = cursor == null ? null : PeriodCursor.decode(cursor);
+
+        List<Policy> rows = policyRepository.findByCoveragePeriod(
+            from, to, after == null ? null : after.coveragePeriod(), after == null ? null : after.id(), pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new PolicyPage(rows, null);
+        }
+        List<Policy> items = List.copyOf(rows.subList(0, pageSize));
+        Policy last = items.get(pageSize - 1);
+        return new PolicyPage(items, new PeriodCursor(last.getCoveragePeriod(), last.getId()).encode());
+    }
+
+    @DatabaseAccess(DatabaseAccess.Kind.READ)
+    public List<Policy> searchPolicies(String term, PolicySearchMode mode, Integer limit) {
+        if (!StringUtils.hasText(term)) {
+            throw new PolicyValidationException("Search term is required");
+        }
+        PolicySearchMode searchMode = mode == null ? PolicySearchMode.PREFIX : mode;
+        String trimmed = term.trim();
+        if (searchMode == PolicySearchMode.CONTAINS && trimmed.length() < MIN_CONTAINS_TERM_LENGTH) {
+            throw new PolicyValidationException(
+                "Search term must be at least " + MIN_CONTAINS_TERM_LENGTH + " characters for substring matching");
+        }
+        return policyRepository.searchByBusinessName(trimmed, searchMode, resolveSearchLimit(limit));
+    }
+
+    @DatabaseAccess(DatabaseAccess.Kind.READ)
+    public List<String> suggestBusinessNames(String prefix, Integer limit) {
+        if (!StringUtils.hasText(prefix)) {
+            throw new PolicyValidationException("Prefix is required");
+        }
+        int resolvedLimit = resolveSearchLimit(limit);
+        String trimmed = prefix.trim();
+        return policyNameIndex.isReady()
+            ? policyNameIndex.suggest(trimmed, resolvedLimit)
+            : policyRepository.findBusinessNamesByPrefix(trimmed, resolvedLimit);
     }
 
-    public List<Policy> getAllPolicies() {
-        return policyRepository.findAll();
+    /** Entity tag of the page {@link #getPolicies} would return, computed without loading it. */
+    @DatabaseAccess(DatabaseAccess.Kind.READ)
+    public String getPoliciesETag(PolicyFilter filter, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        validateFilter(filter);
+        UUID after = cursor == null ? null : decodeCursor(cursor);
+        return PolicyETags.forPageFingerprint(policyRepository.fingerprintPage(filter, after, pageSize));
     }
 
+    @Transactional(readOnly = true)
+    public void exportPolicies(Consumer<Policy> action) {
+        policyRepository.forEach(properties.getExport().getFetchSize(), action);
+    }
+
+    @Transactional
+    @DatabaseAccess(DatabaseAccess.Kind.WRITE)
     public boolean deletePolicy(UUID id) {
         if (id == null) {
             throw new PolicyValidationException("Policy ID cannot be null");
         }
-        return policyRepository.findById(id)
-            .map(policy -> {
-                policyRepository.deleteById(id);
-                return true;
-            })
-            .orElse(false);
+        Optional<Policy> deleted;
+        try {
+            deleted = policyRepository.deleteById(id);
+            deleted.ifPresent(policy ->
+                coverageAggregateRepository.add(policy.getCoveragePeriod(), -1, -policy.getCoverageAmount()));
+        } catch (PessimisticLockingFailureException e) {
+            throw lockFailure(e);
+        }
+        recentPolicyWrites.record(id);
+        deleted.ifPresent(policy -> {
+            policyNameIndex.remove(policy.getBusinessName());
+            eventPublisher.publishEvent(PolicyChangeEvent.deleted(id));
+        });
+        policyCache.putAbsent(id);
+        return deleted.isPresent();
+    }
+
+    // A change of coverage period moves the row to another partition. A write that waited on the
+    // row while it moved cannot follow it and fails with a serialization failure (SQLSTATE 40001),
+    // which is a conflict like any other: the client reloads and retries. Any other lock failure,
+    // such as a deadlock or lock timeout, says nothing about the policy, so the same request is
+    // simply retried later.
+    private RuntimeException lockFailure(PessimisticLockingFailureException e) {
+        if (SERIALIZATION_FAILURE.equals(sqlState(e))) {
+            return new PolicyConflictException(
+                "Policy was modified concurrently; reload it and retry from the current version", e);
+        }
+        return new PolicyServiceOverloadedException(
+            "Policy write lost a lock to a concurrent write; retry it", properties.getAdmission().getRetryAfter(), e);
+    }
+
+    private static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    private void moveCoverage(Policy previous, Policy updated) {
+        boolean sameMonth = previous.getCoveragePeriod().withDayOfMonth(1)
+            .equals(updated.getCoveragePeriod().withDayOfMonth(1));
+        if (sameMonth && previous.getCoverageAmount() == updated.getCoverageAmount()) {
+            return;
+        }
+        coverageAggregateRepository.move(
+            previous.getCoveragePeriod(), previous.getCoverageAmount(),
+            updated.getCoveragePeriod(), updated.getCoverageAmount());
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit <= 0) {
+            throw new PolicyValidationException("Page size must be greater than zero");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private int resolveSearchLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_SEARCH_LIMIT;
+        }
+        if (limit <= 0) {
+            throw new PolicyValidationException("Result limit must be greater than zero");
+        }
+        return Math.min(limit, MAX_SEARCH_LIMIT);
+    }
+
+    private void validateFilter(PolicyFilter filter) {
+        if (filter.coveragePeriodFrom() != null && filter.coveragePeriodTo() != null
+            && filter.coveragePeriodFrom().isAfter(filter.coveragePeriodTo())) {
+            throw new PolicyValidationException("Coverage period start must not be after end");
+        }
+    }
+
+    private static String encodeCursor(UUID id) {
+        ByteBuffer buffer = ByteBuffer.allocate(16)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static UUID decodeCursor(String cursor) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            if (buffer.remaining() != 16) {
+                throw new PolicyValidationException("Invalid cursor");
+            }
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            throw new PolicyValidationException("Invalid cursor");
+        }
+    }
+
+    // Position in coverage period order: the epoch day and id of the last policy returned.
+    private record PeriodCursor(LocalDate coveragePeriod, UUID id) {
+
+        String encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(24)
+                .putLong(coveragePeriod.toEpochDay())
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+        }
+
+        static PeriodCursor decode(String cursor) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+                if (buffer.remaining() != 24) {
+                    throw new PolicyValidationException("Invalid cursor");
+                }
+                return new PeriodCursor(LocalDate.ofEpochDay(buffer.getLong()), new UUID(buffer.getLong(), buffer.getLong()));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new PolicyValidationException("Invalid cursor");
+            }
+        }
     }
 
-    private void validateCreatePolicy(String businessName, LocalDate coveragePeriod, double coverageAmount) {
+    void validateCreatePolicy(String businessName, LocalDate coveragePeriod, double coverageAmount) {
         if (!StringUtils.hasText(businessName)) {
             throw new PolicyValidationException("Business name is required");
         }
@@ -70,7 +413,7 @@ public class PolicyService {
         }
     }
 
-    private void validateUpdatePolicy(UUID id, String businessName, LocalDate coveragePeriod, Double coverageAmount) {
+    void validateUpdatePolicy(UUID id, String businessName, LocalDate coveragePeriod, Double coverageAmount) {
         if (id == null) {
             throw new PolicyValidationException("Policy ID cannot be null");
         }
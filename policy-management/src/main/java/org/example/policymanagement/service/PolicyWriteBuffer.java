@@ -0,0 +1,239 @@
+package org.example.policymanagement.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.exception.PolicyServiceOverloadedException;
+import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.repository.CoverageAggregateRepository;
+import org.example.policymanagement.repository.PolicyRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes new policies, each with its coverage aggregate update, in its own transaction. With
+ * {@code policy.write-buffer.enabled} concurrent inserts are instead queued and committed together
+ * by one flusher thread: a batch closes after {@code max-batch-size} policies or {@code max-delay}
+ * after its first one, whichever comes first, and is sent as one multi-row INSERT that returns the
+ * stored rows. Callers return only once their batch has committed, so the extra latency is bounded
+ * by {@code max-delay} plus one commit; a caller still waiting after {@code commit-timeout} gets a
+ * {@link PolicyServiceOverloadedException}. If a batch fails, its inserts are retried one by one so
+ * only the offending insert fails.
+ *
+ * <p>The flusher commits each batch in one transaction of its own, never one the caller has open,
+ * and when that transaction fails it rewrites each of the batch's inserts in a transaction of its
+ * own. A queued insert waits without a write admission permit, since the flusher writes the whole
+ * batch on one connection. When the queue is full, or the buffer is disabled or shutting down, the
+ * caller writes directly instead, admitted like any other write.
+ */
+@Component
+public class PolicyWriteBuffer implements MeterBinder {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final PolicyRepository policyRepository;
+    private final CoverageAggregateRepository coverageAggregateRepository;
+    private final TransactionOperations transactionOperations;
+    private final PolicyProperties.WriteBuffer config;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread flusher;
+    // Held for reading while an insert checks running and enqueues, and for writing to stop, so
+    // nothing is enqueued after the flusher and close() have made their last pass over the queue.
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private volatile DistributionSummary batchSizes;
+
+    public PolicyWriteBuffer(
+        PolicyRepository policyRepository,
+        CoverageAggregateRepository coverageAggregateRepository,
+        TransactionOperations transactionOperations,
+        PolicyProperties properties
+    ) {
+        this.policyRepository = policyRepository;
+        this.coverageAggregateRepository = coverageAggregateRepository;
+        this.transactionOperations = transactionOperations;
+        this.config = properties.getWriteBuffer();
+        if (config.isEnabled()) {
+            this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+            this.running = true;
+            this.flusher = Thread.ofPlatform().name("policy-write-buffer").daemon().start(this::runFlusher);
+        } else {
+            this.queue = null;
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Queues {@code policy} for the next group commit and returns it as stored once its batch has
+     * committed. Empty, straight away, when the buffer is disabled, full or shutting down.
+     */
+    public Optional<Policy> insertBuffered(Policy policy) {
+        if (queue == null) {
+            return Optional.empty();
+        }
+        PendingWrite write = new PendingWrite(policy, new CompletableFuture<>());
+        boolean queued;
+        lifecycle.readLock().lock();
+        try {
+            queued = running && queue.offer(write);
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+        return queued ? Optional.of(await(write)) : Optional.empty();
+    }
+
+    /** Inserts {@code policy} with its coverage aggregate update in a transaction of its own. */
+    @DatabaseAccess(DatabaseAccess.Kind.WRITE)
+    public Policy insertDirectly(Policy policy) {
+        return writeDirectly(policy);
+    }
+
+    // For tests and benchmarks: calls from within this class bypass the admission advice.
+    Policy insert(Policy policy) {
+        return insertBuffered(policy).orElseGet(() -> writeDirectly(policy));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        stopAccepting();
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        // Whatever the flusher did not get to before the join gave up is written one at a time.
+        PendingWrite leftover;
+        while ((leftover = queue.poll()) != null) {
+            writeAlone(leftover);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (queue != null) {
+            Gauge.builder("policy.write.buffer.queued", queue, BlockingQueue::size)
+                .description("Inserts waiting for the next group commit")
+                .register(registry);
+        }
+        batchSizes = DistributionSummary.builder("policy.write.buffer.batch.size")
+            .description("Policies committed per group commit")
+            .register(registry);
+    }
+
+    private Policy await(PendingWrite write) {
+        try {
+            return write.result().get(config.getCommitTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued means it was never written, and removing it means it never will be.
+            String outcome = queue.remove(write) ? "was not created" : "may still be created";
+            throw new PolicyServiceOverloadedException(
+                "Policy write did not commit within " + config.getCommitTimeout() + " and " + outcome,
+                config.getMaxDelay());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the policy write to commit", e);
+        }
+    }
+
+    private void stopAccepting() {
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+    }
+
+    private Policy writeDirectly(Policy policy) {
+        return transactionOperations.execute(status -> {
+            Policy saved = policyRepository.save(policy);
+            coverageAggregateRepository.add(saved.getCoveragePeriod(), 1, saved.getCoverageAmount());
+            return saved;
+        });
+    }
+
+    private void runFlusher() {
+        List<PendingWrite> batch = new ArrayList<>(config.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            collect(batch);
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingWrite> batch) {
+        try {
+            PendingWrite first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + config.getMaxDelay().toNanos();
+            while (batch.size() < config.getMaxBatchSize()) {
+                PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            // Nobody interrupts the flusher on purpose; stop after writing what was queued.
+            stopAccepting();
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<Policy> policies = batch.stream().map(PendingWrite::policy).toList();
+        Map<UUID, Policy> saved;
+        try {
+            saved = transactionOperations.execute(status -> {
+                List<Policy> inserted = policyRepository.insertAll(policies);
+                coverageAggregateRepository.addAll(inserted);
+                return inserted.stream().collect(Collectors.toMap(Policy::getId, Function.identity()));
+            });
+        } catch (RuntimeException e) {
+            // One bad insert fails the whole statement; write each on its own so only that one fails.
+            batch.forEach(this::writeAlone);
+            return;
+        }
+        if (batchSizes != null) {
+            batchSizes.record(policies.size());
+        }
+        batch.forEach(write -> write.result().complete(saved.get(write.policy().getId())));
+    }
+
+    private void writeAlone(PendingWrite write) {
+        try {
+            write.result().complete(writeDirectly(write.policy()));
+        } catch (RuntimeException e) {
+            write.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingWrite(Policy policy, CompletableFuture<Policy> result) {}
+}
@@ -0,0 +1,201 @@
+package org.example.policymanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.example.policymanagement.dto.PolicyChangeType;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Fans policy changes out to every instance through Postgres LISTEN/NOTIFY. The NOTIFY is sent
+ * inside the writing transaction, so Postgres delivers it only if that transaction commits, and
+ * every listener sees notifications in commit order. One pooled connection stays checked out
+ * for the LISTEN session.
+ *
+ * <p>A transaction's changes are collected and sent together just before it commits, packed into
+ * as few notifications as fit Postgres' payload limit, all in one statement. A batch create or
+ * import therefore costs one round trip, not one per policy.
+ *
+ * <p>Each change heard also invalidates this instance's cached copy of the policy, so an
+ * instance never serves a body or ETag that another instance has since replaced. That includes
+ * this instance's own changes, which costs one reload per write.
+ */
+@Component
+@ConditionalOnProperty(prefix = "policy.change-feed", name = "listen-notify", havingValue = "true")
+public class PostgresChangeRelay {
+
+    static final String CHANNEL = "policy_changes";
+    // Postgres rejects payloads of 8000 bytes or more; leave room for the enclosing brackets.
+    static final int MAX_PAYLOAD_BYTES = 7_900;
+    private static final String NOTIFY_ALL =
+        "SELECT pg_notify(?, payload) FROM json_array_elements_text(CAST(? AS JSON)) AS payload";
+    private static final int POLL_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final PolicyChangeFeed policyChangeFeed;
+    private final PolicyCache policyCache;
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresChangeRelay(
+        JdbcTemplate jdbcTemplate,
+        DataSource dataSource,
+        ObjectMapper objectMapper,
+        PolicyChangeFeed policyChangeFeed,
+        PolicyCache policyCache
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.policyChangeFeed = policyChangeFeed;
+        this.policyCache = policyCache;
+    }
+
+    @EventListener
+    public void onPolicyChanged(PolicyChangeEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendNotifications(List.of(event));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().name("policy-change-relay").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.join(POLL_MILLIS * 4L);
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    // Notifications sent while we were disconnected are gone.
+                    policyCache.invalidateAll();
+                    policyChangeFeed.reset();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        for (PolicyChangeEvent event : objectMapper.readValue(notification.getParameter(), PolicyChangeEvent[].class)) {
+                            invalidateCached(event);
+                            policyChangeFeed.append(event);
+                        }
+                    }
+                }
+            } catch (SQLException | JsonProcessingException e) {
+                reconnecting = true;
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    // A detach does not name its policies, so everything cached goes.
+    private void invalidateCached(PolicyChangeEvent event) {
+        if (event.policyId() != null) {
+            policyCache.invalidate(event.policyId());
+        } else if (event.type() == PolicyChangeType.DETACHED) {
+            policyCache.invalidateAll();
+        }
+    }
+
+    private void sendNotifications(List<PolicyChangeEvent> events) {
+        try {
+            jdbcTemplate.query(NOTIFY_ALL, rs -> {}, CHANNEL, objectMapper.writeValueAsString(payloads(events)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // JSON arrays of events, each kept under MAX_PAYLOAD_BYTES.
+    private List<String> payloads(List<PolicyChangeEvent> events) throws JsonProcessingException {
+        List<String> payloads = new ArrayList<>();
+        StringJoiner payload = newPayload();
+        int payloadBytes = 0;
+        for (PolicyChangeEvent event : events) {
+            String json = objectMapper.writeValueAsString(event);
+            int bytes = json.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (payloadBytes > 0 && payloadBytes + bytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload = newPayload();
+                payloadBytes = 0;
+            }
+            payload.add(json);
+            payloadBytes += bytes;
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    private static StringJoiner newPayload() {
+        return new StringJoiner(",", "[", "]");
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<PolicyChangeEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            sendNotifications(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PostgresChangeRelay.this);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.policymanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.policymanagement.config.PolicyProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Ids of policies this instance wrote within {@code policy.read-replica.read-your-writes-window}.
+ * Reads of those go to the primary, so a client never reads its own write back from a replica
+ * that has not replayed it yet. Tracks nothing when there is no replica.
+ */
+@Component
+public class RecentPolicyWrites {
+
+    private static final long MAXIMUM_TRACKED = 100_000;
+
+    private final Cache<UUID, Boolean> recent;
+
+    public RecentPolicyWrites(PolicyProperties properties) {
+        PolicyProperties.ReadReplica config = properties.getReadReplica();
+        this.recent = config.isEnabled()
+            ? Caffeine.newBuilder().maximumSize(MAXIMUM_TRACKED).expireAfterWrite(config.getReadYourWritesWindow()).build()
+            : null;
+    }
+
+    public void record(UUID id) {
+        if (recent != null) {
+            recent.put(id, Boolean.TRUE);
+        }
+    }
+
+    public boolean contains(UUID id) {
+        return recent != null && recent.getIfPresent(id) != null;
+    }
+}
@@ -1,6 +1,157 @@
+-- DO blocks and function bodies are single-quoted: the script runner splits on semicolons and
+-- only understands single quotes, not dollar quoting.
+
+-- Optimistic concurrency: every update increments version. Added here for databases that
+-- predate both the column and partitioning; new tables declare it below.
+ALTER TABLE IF EXISTS policies ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- A policies table from before partitioning is moved aside and copied into the partitioned
+-- table further down. Its key and indexes are renamed or dropped so the new ones can be created.
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass(''policies'') AND relkind = ''r'') THEN
+        ALTER TABLE policies RENAME TO policies_unpartitioned;
+        ALTER TABLE policies_unpartitioned RENAME CONSTRAINT policies_pkey TO policies_unpartitioned_pkey;
+        DROP INDEX IF EXISTS policies_business_name_prefix_idx;
+        DROP INDEX IF EXISTS policies_business_name_trgm_idx;
+    END IF;
+END';
+
+-- One partition per coverage quarter, created ahead of time by PolicyPartitionMaintainer. Rows
+-- for quarters without a partition go to policies_default until one is created. The partition
+-- key has to be part of the primary key, so the id on its own is kept unique by policy_ids below.
+-- A lookup, update or delete by id alone cannot be pruned to one partition and probes the key
+-- index of every partition, so its cost grows with the number of attached quarters.
 CREATE TABLE IF NOT EXISTS policies (
-    id UUID PRIMARY KEY,
+    id UUID NOT NULL,
     business_name VARCHAR(255) NOT NULL,
     coverage_period DATE NOT NULL,
-    coverage_amount DOUBLE PRECISION NOT NULL
-); 
\ No newline at end of file
+    coverage_amount DOUBLE PRECISION NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, coverage_period)
+) PARTITION BY RANGE (coverage_period);
+
+CREATE TABLE IF NOT EXISTS policies_default PARTITION OF policies DEFAULT;
+
+-- Every id in policies, in an unpartitioned table whose primary key enforces what the partitioned
+-- key cannot: a second row with the same id in another quarter fails with a duplicate key.
+-- Statement triggers on policies keep it in step with the transition tables, one set-based
+-- statement per write. Moving a row between partitions is an UPDATE, which keeps its id and
+-- fires neither; neither do the statements below that name a partition directly.
+CREATE TABLE IF NOT EXISTS policy_ids (
+    id UUID PRIMARY KEY
+);
+
+CREATE OR REPLACE FUNCTION register_policy_ids() RETURNS TRIGGER LANGUAGE plpgsql AS '
+BEGIN
+    INSERT INTO policy_ids (id) SELECT id FROM inserted;
+    RETURN NULL;
+END';
+
+CREATE OR REPLACE FUNCTION unregister_policy_ids() RETURNS TRIGGER LANGUAGE plpgsql AS '
+BEGIN
+    DELETE FROM policy_ids WHERE id IN (SELECT id FROM deleted);
+    RETURN NULL;
+END';
+
+CREATE OR REPLACE TRIGGER policies_register_ids AFTER INSERT ON policies
+    REFERENCING NEW TABLE AS inserted FOR EACH STATEMENT EXECUTE FUNCTION register_policy_ids();
+CREATE OR REPLACE TRIGGER policies_unregister_ids AFTER DELETE ON policies
+    REFERENCING OLD TABLE AS deleted FOR EACH STATEMENT EXECUTE FUNCTION unregister_policy_ids();
+
+-- Backfill once, when the registry is first created next to existing policies.
+INSERT INTO policy_ids (id)
+SELECT id FROM policies
+WHERE NOT EXISTS (SELECT 1 FROM policy_ids);
+
+-- Creates policies_<year>_q<quarter> for the quarter containing quarter_date and returns whether
+-- it had to. Rows of that quarter already in policies_default are moved into the new table
+-- before it is attached, since Postgres refuses a range the default partition still has rows
+-- for; writes to the default partition wait meanwhile. The advisory lock serializes instances.
+CREATE OR REPLACE FUNCTION create_policy_partition(quarter_date DATE) RETURNS BOOLEAN LANGUAGE plpgsql AS '
+DECLARE
+    lower_bound DATE := date_trunc(''quarter'', quarter_date)::date;
+    upper_bound DATE := (date_trunc(''quarter'', quarter_date) + INTERVAL ''3 months'')::date;
+    partition_name TEXT := format(''policies_%s_q%s'', extract(YEAR FROM quarter_date), extract(QUARTER FROM quarter_date));
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(''policies_partitions''));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    LOCK TABLE policies_default IN SHARE ROW EXCLUSIVE MODE;
+    EXECUTE format(''CREATE TABLE %I (LIKE policies INCLUDING DEFAULTS)'', partition_name);
+    EXECUTE format(
+        ''WITH moved AS (DELETE FROM policies_default WHERE coverage_period >= %L AND coverage_period < %L RETURNING *) '' ||
+        ''INSERT INTO %I SELECT * FROM moved'',
+        lower_bound, upper_bound, partition_name);
+    EXECUTE format(''ALTER TABLE policies ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)'',
+        partition_name, lower_bound, upper_bound);
+    RETURN TRUE;
+END';
+
+-- Detaches the partition for the quarter containing quarter_date and returns whether it was
+-- attached. Its rows stay in a standalone table of the same name, to be archived or dropped;
+-- until that table is dropped the quarter cannot be partitioned again and new rows for it go to
+-- policies_default. Its months are taken out of coverage_aggregates and its ids out of policy_ids
+-- to match. The DETACH itself only changes the catalog, but the policy_ids delete touches every
+-- row of the quarter, and so does PolicyPartitionService, which must be used to call this
+-- because it also reads the rows back to update the in-memory caches.
+CREATE OR REPLACE FUNCTION detach_policy_partition(quarter_date DATE) RETURNS BOOLEAN LANGUAGE plpgsql AS '
+DECLARE
+    lower_bound DATE := date_trunc(''quarter'', quarter_date)::date;
+    upper_bound DATE := (date_trunc(''quarter'', quarter_date) + INTERVAL ''3 months'')::date;
+    partition_name TEXT := format(''policies_%s_q%s'', extract(YEAR FROM quarter_date), extract(QUARTER FROM quarter_date));
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext(''policies_partitions''));
+    IF NOT EXISTS (SELECT 1 FROM pg_inherits
+                   WHERE inhrelid = to_regclass(partition_name) AND inhparent = ''policies''::regclass) THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format(''ALTER TABLE policies DETACH PARTITION %I'', partition_name);
+    DELETE FROM coverage_aggregates WHERE period_month >= lower_bound AND period_month < upper_bound;
+    EXECUTE format(''DELETE FROM policy_ids WHERE id IN (SELECT id FROM %I)'', partition_name);
+    RETURN TRUE;
+END';
+
+CREATE TABLE IF NOT EXISTS coverage_aggregates (
+    period_month DATE PRIMARY KEY,
+    policy_count BIGINT NOT NULL,
+    total_coverage NUMERIC NOT NULL
+);
+
+-- Copies a pre-partitioning table in, creating its quarters' partitions first so each row is
+-- written once, straight into its partition.
+DO '
+BEGIN
+    IF to_regclass(''policies_unpartitioned'') IS NOT NULL THEN
+        PERFORM create_policy_partition(quarter)
+        FROM (SELECT DISTINCT date_trunc(''quarter'', coverage_period)::date AS quarter FROM policies_unpartitioned) q;
+        INSERT INTO policies (id, business_name, coverage_period, coverage_amount, version)
+        SELECT id, business_name, coverage_period, coverage_amount, version FROM policies_unpartitioned;
+        DROP TABLE policies_unpartitioned;
+    END IF;
+END';
+
+-- Backfill once, when the aggregates table is first created next to existing policies.
+INSERT INTO coverage_aggregates (period_month, policy_count, total_coverage)
+SELECT date_trunc('month', coverage_period)::date, count(*), sum(CAST(coverage_amount AS NUMERIC))
+FROM policies
+WHERE NOT EXISTS (SELECT 1 FROM coverage_aggregates)
+GROUP BY 1;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Indexes are declared on the partitioned table and created on every partition, including ones
+-- attached later.
+
+-- Business-name search matches on lower(business_name): the pattern-ops index serves prefix
+-- LIKE 'abc%' under any collation, the trigram index serves substring LIKE '%abc%'.
+CREATE INDEX IF NOT EXISTS policies_business_name_prefix_idx
+    ON policies (lower(business_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS policies_business_name_trgm_idx
+    ON policies USING gin (lower(business_name) gin_trgm_ops);
+
+-- Coverage-period range pages seek on (coverage_period, id) in each partition the range
+-- covers, and read the rows already in page order.
+CREATE INDEX IF NOT EXISTS policies_coverage_period_idx
+    ON policies (coverage_period, id);
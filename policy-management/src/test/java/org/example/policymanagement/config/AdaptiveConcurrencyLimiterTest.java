@@ -0,0 +1,101 @@
+package org.example.policymanagement.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void shouldRejectAtOnceWhenQueueIsFull() throws Exception {
+        PolicyProperties.Bulkhead config = fixed(1);
+        config.setQueueCapacity(0);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+
+        assertThat(limiter.acquire()).isEqualTo(AdaptiveConcurrencyLimiter.Admission.ADMITTED);
+        assertThat(limiter.acquire()).isEqualTo(AdaptiveConcurrencyLimiter.Admission.QUEUE_FULL);
+    }
+
+    @Test
+    void shouldTimeOutQueuedCallerAndAdmitAgainAfterRelease() throws Exception {
+        PolicyProperties.Bulkhead config = fixed(1);
+        config.setMaxWait(Duration.ofMillis(10));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+        limiter.acquire();
+
+        assertThat(limiter.acquire()).isEqualTo(AdaptiveConcurrencyLimiter.Admission.TIMED_OUT);
+        assertThat(limiter.waiting()).isZero();
+
+        limiter.release(Duration.ofMillis(1));
+        assertThat(limiter.acquire()).isEqualTo(AdaptiveConcurrencyLimiter.Admission.ADMITTED);
+    }
+
+    @Test
+    void shouldHandOverToQueuedCallerOnRelease() throws Exception {
+        PolicyProperties.Bulkhead config = fixed(1);
+        config.setMaxWait(Duration.ofSeconds(5));
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+        limiter.acquire();
+        AdaptiveConcurrencyLimiter.Admission[] queued = new AdaptiveConcurrencyLimiter.Admission[1];
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                queued[0] = limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        while (limiter.waiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        limiter.release(Duration.ofMillis(1));
+        waiter.join();
+
+        assertThat(queued[0]).isEqualTo(AdaptiveConcurrencyLimiter.Admission.ADMITTED);
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyRisesAndRegrowWhenItRecovers() throws Exception {
+        PolicyProperties.Bulkhead config = new PolicyProperties.Bulkhead();
+        config.setInitialLimit(20);
+        config.setMinLimit(2);
+        config.setMaxLimit(40);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config);
+
+        runAtLimit(limiter, Duration.ofMillis(2), 5);
+        int baseline = limiter.limit();
+        runAtLimit(limiter, Duration.ofMillis(20), 5);
+        int overloaded = limiter.limit();
+        runAtLimit(limiter, Duration.ofMillis(2), 50);
+
+        assertThat(baseline).isGreaterThanOrEqualTo(20);
+        assertThat(overloaded).isLessThan(baseline);
+        assertThat(limiter.limit()).isGreaterThan(overloaded);
+    }
+
+    private static PolicyProperties.Bulkhead fixed(int limit) {
+        PolicyProperties.Bulkhead config = new PolicyProperties.Bulkhead();
+        config.setInitialLimit(limit);
+        config.setMinLimit(limit);
+        config.setMaxLimit(limit);
+        config.setAdaptive(false);
+        return config;
+    }
+
+    // Fills the current limit, then completes every call with the same latency.
+    private static void runAtLimit(AdaptiveConcurrencyLimiter limiter, Duration latency, int rounds) throws Exception {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.inFlight() < limiter.limit()
+                && limiter.acquire() == AdaptiveConcurrencyLimiter.Admission.ADMITTED) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(latency);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.policymanagement.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class GuardedDataSourceTest {
+
+    @Test
+    void shouldReleasePermitOnceWhenConnectionIsClosed() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        GuardedDataSource dataSource = new GuardedDataSource(target, 1, Duration.ofMillis(10));
+
+        Connection guarded = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isZero();
+
+        guarded.close();
+        guarded.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void shouldFailFastWhenNoPermitBecomesAvailable() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        GuardedDataSource dataSource = new GuardedDataSource(target, 1, Duration.ofMillis(10));
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void shouldReleasePermitWhenPoolFails() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        GuardedDataSource dataSource = new GuardedDataSource(target, 1, Duration.ofMillis(10));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.policymanagement.config;
+
+import org.example.policymanagement.dto.QueryStats;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+class ProfilingDataSourceTest {
+
+    private static final String SELECT = "SELECT id FROM policies WHERE coverage_period = ?";
+    private static final String DELETE = "DELETE FROM policies WHERE id = ?";
+
+    @Test
+    void shouldRecordRowsReadWhenResultSetIsClosed() throws Exception {
+        PolicyProperties properties = new PolicyProperties();
+        QueryProfiler profiler = new QueryProfiler(properties);
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(SELECT)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+
+        try (Connection profiled = new ProfilingDataSource(target, profiler, false).getConnection();
+             PreparedStatement ps = profiled.prepareStatement(SELECT)) {
+            ps.setString(1, "2024-12-31");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rs.getString(1);
+                }
+            }
+        }
+
+        assertThat(profiler.statistics())
+            .singleElement()
+            .satisfies(stats -> {
+                assertThat(stats.sql()).isEqualTo(SELECT);
+                assertThat(stats.calls()).isEqualTo(1);
+                assertThat(stats.rows()).isEqualTo(2);
+            });
+        verify(statement).setString(1, "2024-12-31");
+        verify(resultSet).close();
+    }
+
+    @Test
+    void shouldRecordUpdateCountsAndLogSlowStatements() throws Exception {
+        PolicyProperties properties = new PolicyProperties();
+        properties.getQueryProfiler().setSlowThreshold(Duration.ZERO);
+        QueryProfiler profiler = new QueryProfiler(properties);
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(DELETE)).thenReturn(statement);
+        when(statement.executeUpdate()).thenReturn(1);
+
+        try (Connection profiled = new ProfilingDataSource(target, profiler, false).getConnection();
+             PreparedStatement ps = profiled.prepareStatement(DELETE)) {
+            ps.executeUpdate();
+            ps.executeUpdate();
+        }
+
+        assertThat(profiler.statistics()).extracting(QueryStats::calls, QueryStats::rows).containsExactly(
+            tuple(2L, 2L));
+        assertThat(profiler.slowQueries()).hasSize(2).allSatisfy(slow -> {
+            assertThat(slow.sql()).isEqualTo(DELETE);
+            assertThat(slow.rows()).isEqualTo(1);
+            assertThat(slow.plan()).isNull();
+        });
+    }
+
+    @Test
+    void shouldOnlyExplainPlainReads() {
+        assertThat(QueryProfiler.isExplainable(SELECT)).isTrue();
+        assertThat(QueryProfiler.isExplainable(DELETE)).isFalse();
+        assertThat(QueryProfiler.isExplainable("SELECT * FROM policies WHERE id = ? FOR UPDATE")).isFalse();
+        assertThat(QueryProfiler.isExplainable("WITH moved AS (DELETE FROM policies RETURNING *) SELECT * FROM moved")).isFalse();
+        assertThat(QueryProfiler.isExplainable("SELECT create_policy_partition(?)")).isFalse();
+        assertThat(QueryProfiler.isExplainable("SELECT detach_policy_partition(CAST(? AS DATE))")).isFalse();
+        assertThat(QueryProfiler.isExplainable("SELECT pg_notify('policy_changes', ?) FROM policies")).isFalse();
+        assertThat(QueryProfiler.isExplainable(
+            "SELECT date_trunc('month', coverage_period)::date, count(*) FROM policies WHERE lower(business_name) LIKE ? GROUP BY 1"))
+            .isTrue();
+    }
+
+    @Test
+    void shouldExplainSampledReadInRolledBackReadOnlyTransaction() throws Exception {
+        PolicyProperties properties = new PolicyProperties();
+        properties.getQueryProfiler().setSlowThreshold(Duration.ZERO);
+        properties.getQueryProfiler().setExplainSampleRate(1.0);
+        QueryProfiler profiler = new QueryProfiler(properties);
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        Connection explainConnection = mock(Connection.class);
+        Statement transactionStatement = mock(Statement.class);
+        PreparedStatement explainStatement = mock(PreparedStatement.class);
+        ResultSet plan = mock(ResultSet.class);
+        when(target.getConnection()).thenReturn(connection, explainConnection);
+        when(connection.prepareStatement(SELECT)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(explainConnection.createStatement()).thenReturn(transactionStatement);
+        when(explainConnection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + SELECT)).thenReturn(explainStatement);
+        when(explainStatement.executeQuery()).thenReturn(plan);
+        when(plan.next()).thenReturn(true, false);
+        when(plan.getString(1)).thenReturn("Seq Scan on policies_2024_q4");
+
+        try (Connection profiled = new ProfilingDataSource(target, profiler, true).getConnection();
+             PreparedStatement ps = profiled.prepareStatement(SELECT)) {
+            ps.setString(1, "2024-12-31");
+            ps.executeQuery().close();
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (profiler.slowQueries().get(0).plan() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(profiler.slowQueries().get(0).plan()).isEqualTo("Seq Scan on policies_2024_q4");
+        InOrder inOrder = inOrder(explainConnection, transactionStatement, explainStatement);
+        inOrder.verify(explainConnection).setAutoCommit(false);
+        inOrder.verify(transactionStatement).execute("SET TRANSACTION READ ONLY");
+        inOrder.verify(explainStatement).setString(1, "2024-12-31");
+        inOrder.verify(explainStatement).executeQuery();
+        inOrder.verify(explainConnection).rollback();
+        inOrder.verify(explainConnection).setAutoCommit(true);
+        verify(explainConnection, never()).commit();
+    }
+
+    @Test
+    void shouldCountStatementsBeyondTheLimitTogether() {
+        PolicyProperties properties = new PolicyProperties();
+        properties.getQueryProfiler().setMaxStatements(1);
+        QueryProfiler profiler = new QueryProfiler(properties);
+
+        profiler.record(SELECT, 1_000, 1);
+        profiler.record(DELETE, 1_000, 1);
+
+        assertThat(profiler.statistics()).extracting(QueryStats::sql)
+            .containsExactlyInAnyOrder(SELECT, QueryProfiler.OTHER_STATEMENTS);
+    }
+}
@@ -1,24 +1,44 @@
 package org.example.policymanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.policymanagement.dto.BatchCreatePolicyResponse;
+import org.example.policymanagement.dto.BatchCreatePolicyResult;
 import org.example.policymanagement.dto.CreatePolicyRequest;
+import org.example.policymanagement.dto.PolicyFilter;
+import org.example.policymanagement.dto.PolicyPage;
+import org.example.policymanagement.dto.PolicySearchMode;
 import org.example.policymanagement.dto.UpdatePolicyRequest;
+import org.example.policymanagement.exception.PolicyConflictException;
+import org.example.policymanagement.exception.PolicyPreconditionRequiredException;
+import org.example.policymanagement.exception.PolicyServiceOverloadedException;
+import org.example.policymanagement.exception.PolicyValidationException;
 import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.service.PolicyETags;
 import org.example.policymanagement.service.PolicyService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +46,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(PolicyController.class)
 class PolicyControllerTest {
 
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -35,6 +57,8 @@ class PolicyControllerTest {
     @MockitoBean
     private PolicyService policyService;
 
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
     @Test
     void shouldCreatePolicy() throws Exception {
         CreatePolicyRequest request = new CreatePolicyRequest(
@@ -57,6 +81,27 @@ class PolicyControllerTest {
             .andExpect(jsonPath("$.businessName").value("Acme Corp"));
     }
 
+    @Test
+    void shouldCreatePoliciesInBatch() throws Exception {
+        List<CreatePolicyRequest> requests = List.of(
+            new CreatePolicyRequest("Acme Corp", LocalDate.of(2024, 12, 31), 100000.00),
+            new CreatePolicyRequest("", LocalDate.of(2024, 12, 31), 100000.00)
+        );
+        UUID id = UUID.randomUUID();
+        when(policyService.createPolicies(requests)).thenReturn(new BatchCreatePolicyResponse(1, 1, List.of(
+            new BatchCreatePolicyResult(0, id, null),
+            new BatchCreatePolicyResult(1, null, "Business name is required")
+        )));
+
+        mockMvc.perform(post("/api/policies/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.results[0].id").value(id.toString()))
+            .andExpect(jsonPath("$.results[1].error").value("Business name is required"));
+    }
+
     @Test
     void shouldGetPolicy() throws Exception {
         UUID id = UUID.randomUUID();
@@ -66,7 +111,20 @@ class PolicyControllerTest {
         mockMvc.perform(get("/api/policies/" + id))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id").value(id.toString()))
-            .andExpect(jsonPath("$.businessName").value("Acme Corp"));
+            .andExpect(jsonPath("$.businessName").value("Acme Corp"))
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""));
+    }
+
+    @Test
+    void shouldReturn304WithoutLoadingPolicyWhenETagMatches() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(policyService.getPolicyETag(id)).thenReturn(Optional.of("W/\"3\""));
+
+        mockMvc.perform(get("/api/policies/" + id).header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""))
+            .andExpect(content().string(""));
+        verify(policyService, never()).getPolicy(any());
     }
 
     @Test
@@ -84,17 +142,71 @@ class PolicyControllerTest {
         UpdatePolicyRequest request = new UpdatePolicyRequest(
             "Acme Corp Updated",
             null,
-            150000.00
+            150000.00,
+            null
         );
 
-        Policy updatedPolicy = new Policy(id, "Acme Corp Updated", LocalDate.of(2024, 12, 31), 150000.00);
-        when(policyService.updatePolicy(eq(id), any(), any(), any())).thenReturn(Optional.of(updatedPolicy));
+        Policy updatedPolicy = new Policy(id, "Acme Corp Updated", LocalDate.of(2024, 12, 31), 150000.00, 1);
+        when(policyService.updatePolicy(eq(id), any(), any(), any(), any())).thenReturn(Optional.of(updatedPolicy));
+
+        mockMvc.perform(put("/api/policies/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.businessName").value("Acme Corp Updated"))
+            .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void shouldReturn409WhenUpdatingStaleVersion() throws Exception {
+        UUID id = UUID.randomUUID();
+        UpdatePolicyRequest request = new UpdatePolicyRequest("Acme Corp Updated", null, null, 3L);
+        when(policyService.updatePolicy(id, "Acme Corp Updated", null, null, 3L))
+            .thenThrow(new PolicyConflictException("Policy was modified concurrently; reload it and retry from the current version"));
+
+        mockMvc.perform(put("/api/policies/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldTakeVersionFromIfMatch() throws Exception {
+        UUID id = UUID.randomUUID();
+        UpdatePolicyRequest request = new UpdatePolicyRequest("Acme Corp Updated", null, null, null);
+        Policy updatedPolicy = new Policy(id, "Acme Corp Updated", LocalDate.of(2024, 12, 31), 150000.00, 4);
+        when(policyService.updatePolicy(id, "Acme Corp Updated", null, null, 3L)).thenReturn(Optional.of(updatedPolicy));
 
         mockMvc.perform(put("/api/policies/" + id)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.businessName").value("Acme Corp Updated"));
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"4\""));
+    }
+
+    @Test
+    void shouldReturn428WhenVersionIsRequiredButMissing() throws Exception {
+        UUID id = UUID.randomUUID();
+        UpdatePolicyRequest request = new UpdatePolicyRequest("Acme Corp Updated", null, null, null);
+        when(policyService.updatePolicy(id, "Acme Corp Updated", null, null, null))
+            .thenThrow(new PolicyPreconditionRequiredException("Updates must give the version last read, in the body or in If-Match"));
+
+        mockMvc.perform(put("/api/policies/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isPreconditionRequired());
+    }
+
+    @Test
+    void shouldReturn503WithRetryAfterWhenOverloaded() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(policyService.getPolicy(id))
+            .thenThrow(new PolicyServiceOverloadedException("Too many concurrent reads", Duration.ofMillis(1500)));
+
+        mockMvc.perform(get("/api/policies/" + id))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
     }
 
     @Test
@@ -103,11 +215,125 @@ class PolicyControllerTest {
             new Policy(UUID.randomUUID(), "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00),
             new Policy(UUID.randomUUID(), "Globex Corp", LocalDate.of(2024, 12, 31), 200000.00)
         );
-        when(policyService.getAllPolicies()).thenReturn(policies);
+        when(policyService.getPolicies(any(PolicyFilter.class), isNull(), isNull()))
+            .thenReturn(new PolicyPage(policies, "next-page"));
 
         mockMvc.perform(get("/api/policies"))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.length()").value(2));
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.nextCursor").value("next-page"))
+            .andExpect(header().string(HttpHeaders.ETAG, PolicyETags.forPage(new PolicyPage(policies, "next-page"))));
+    }
+
+    @Test
+    void shouldReturnPoliciesAsCborWhenAccepted() throws Exception {
+        List<Policy> policies = List.of(
+            new Policy(UUID.randomUUID(), "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00)
+        );
+        when(policyService.getPolicies(any(PolicyFilter.class), isNull(), isNull()))
+            .thenReturn(new PolicyPage(policies, null));
+
+        MvcResult result = mockMvc.perform(get("/api/policies").accept(CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(CBOR))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+            .andExpect(header().string(HttpHeaders.ETAG, PolicyETags.forPage(new PolicyPage(policies, null))))
+            .andReturn();
+
+        PolicyPage page = cborMapper.readValue(result.getResponse().getContentAsByteArray(), PolicyPage.class);
+        assertThat(page.items()).isEqualTo(policies);
+    }
+
+    @Test
+    void shouldCreatePolicyFromCborBody() throws Exception {
+        CreatePolicyRequest request = new CreatePolicyRequest("Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+        when(policyService.createPolicy("Acme Corp", LocalDate.of(2024, 12, 31), 100000.00))
+            .thenReturn(new Policy("Acme Corp", LocalDate.of(2024, 12, 31), 100000.00));
+
+        mockMvc.perform(post("/api/policies")
+                .contentType(CBOR)
+                .content(cborMapper.writeValueAsBytes(request)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.businessName").value("Acme Corp"));
+    }
+
+    @Test
+    void shouldReturn304WithoutLoadingPageWhenETagMatches() throws Exception {
+        when(policyService.getPoliciesETag(any(PolicyFilter.class), isNull(), eq(10))).thenReturn("W/\"abc\"");
+
+        mockMvc.perform(get("/api/policies").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, "W/\"abc\""))
+            .andExpect(status().isNotModified());
+        verify(policyService, never()).getPolicies(any(), any(), any());
+    }
+
+    @Test
+    void shouldPassCursorAndFiltersToService() throws Exception {
+        PolicyFilter filter = new PolicyFilter("acme", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        when(policyService.getPolicies(filter, "abc", 10)).thenReturn(new PolicyPage(List.of(), null));
+
+        mockMvc.perform(get("/api/policies")
+                .param("cursor", "abc")
+                .param("limit", "10")
+                .param("businessName", "acme")
+                .param("coveragePeriodFrom", "2024-01-01")
+                .param("coveragePeriodTo", "2024-12-31"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void shouldReturn400WithMessageWhenValidationFails() throws Exception {
+        when(policyService.getPolicies(any(PolicyFilter.class), eq("bad"), isNull()))
+            .thenThrow(new PolicyValidationException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/policies").param("cursor", "bad"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("Invalid cursor"));
+    }
+
+    @Test
+    void shouldSearchPoliciesByBusinessName() throws Exception {
+        Policy policy = new Policy(UUID.randomUUID(), "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+        when(policyService.searchPolicies("cme", PolicySearchMode.CONTAINS, 5)).thenReturn(List.of(policy));
+
+        mockMvc.perform(get("/api/policies/search")
+                .param("q", "cme")
+                .param("mode", "CONTAINS")
+                .param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].businessName").value("Acme Corp"));
+    }
+
+    @Test
+    void shouldSuggestBusinessNames() throws Exception {
+        when(policyService.suggestBusinessNames("ac", null)).thenReturn(List.of("Acme Corp", "Acorn Ltd"));
+
+        mockMvc.perform(get("/api/policies/suggestions").param("prefix", "ac"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[1]").value("Acorn Ltd"));
+    }
+
+    @Test
+    void shouldStreamPoliciesAsNdjson() throws Exception {
+        Policy first = new Policy(UUID.randomUUID(), "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+        Policy second = new Policy(UUID.randomUUID(), "Globex Corp", LocalDate.of(2024, 12, 31), 200000.00);
+        doAnswer(invocation -> {
+            Consumer<Policy> action = invocation.getArgument(0);
+            action.accept(first);
+            action.accept(second);
+            return null;
+        }).when(policyService).exportPolicies(any());
+
+        MvcResult result = mockMvc.perform(get("/api/policies/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(
+                objectMapper.writeValueAsString(first) + "\n" + objectMapper.writeValueAsString(second) + "\n"));
     }
 
     @Test
@@ -0,0 +1,52 @@
+package org.example.policymanagement.repository;
+
+import org.example.policymanagement.TestcontainersConfiguration;
+import org.example.policymanagement.dto.CoverageAggregate;
+import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.service.CoverageAggregateService;
+import org.example.policymanagement.service.PolicyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+class CoverageAggregateRepositoryTest {
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private CoverageAggregateService coverageAggregateService;
+
+    @Test
+    void shouldKeepAggregatesInStepWithPolicyWrites() {
+        // Months far from other tests' data, so only this test's writes land in them
+        LocalDate january = LocalDate.of(2091, 1, 1);
+        LocalDate february = LocalDate.of(2091, 2, 1);
+
+        Policy first = policyService.createPolicy("Aggregate Corp", LocalDate.of(2091, 1, 10), 100000.10);
+        policyService.createPolicy("Aggregate Corp", LocalDate.of(2091, 1, 20), 200000.20);
+        Policy moved = policyService.createPolicy("Aggregate Corp", LocalDate.of(2091, 1, 31), 50000.00);
+        policyService.updatePolicy(moved.getId(), null, LocalDate.of(2091, 2, 15), 75000.00, moved.getVersion());
+        policyService.deletePolicy(first.getId());
+
+        List<CoverageAggregate> aggregates = coverageAggregateService.getCoverageByMonth(january, february);
+
+        assertThat(aggregates).containsExactly(
+            new CoverageAggregate(january, 1, new BigDecimal("200000.2"), new BigDecimal("200000.20")),
+            new CoverageAggregate(february, 1, new BigDecimal("75000"), new BigDecimal("75000.00"))
+        );
+        assertThat(coverageAggregateService.checkConsistency().mismatches())
+            .noneMatch(mismatch -> mismatch.month().getYear() == 2091);
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.policymanagement.repository;
+
+import org.example.policymanagement.TestcontainersConfiguration;
+import org.example.policymanagement.dto.PolicyFilter;
+import org.example.policymanagement.dto.PolicyImportPhase;
+import org.example.policymanagement.dto.PolicyImportRejection;
+import org.example.policymanagement.dto.PolicyImportResult;
+import org.example.policymanagement.exception.PolicyValidationException;
+import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.service.PolicyImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+class PolicyImportRepositoryTest {
+
+    @Autowired
+    private PolicyImportService policyImportService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PolicyImportRepository policyImportRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldImportValidRowsAndReportRejectedOnes() {
+        String marker = "Import " + UUID.randomUUID();
+        byte[] csv = String.join("\n",
+            "business_name,coverage_period,coverage_amount",
+            "\"" + marker + " One, Inc\",2024-12-31,1000.50",
+            "   ,2024-12-31,1000",
+            marker + " Two,2024-02-30,1000",
+            marker + " Three,2024-12-31,abc",
+            marker + " Four,2024-12-31,0",
+            marker + " Five,2025-01-15,2500",
+            ""
+        ).getBytes(StandardCharsets.UTF_8);
+
+        PolicyImportResult result = policyImportService.importCsv(new ByteArrayInputStream(csv), csv.length);
+
+        assertThat(result.staged()).isEqualTo(6);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.rejections()).containsExactly(
+            new PolicyImportRejection(2, "Business name is required"),
+            new PolicyImportRejection(3, "Coverage period must be a date (yyyy-MM-dd)"),
+            new PolicyImportRejection(4, "Coverage amount must be a number"),
+            new PolicyImportRejection(5, "Coverage amount must be greater than zero")
+        );
+        List<Policy> imported = policyRepository.findPage(new PolicyFilter(marker, null, null), null, 10);
+        assertThat(imported).extracting(Policy::getBusinessName, Policy::getCoveragePeriod, Policy::getCoverageAmount)
+            .containsExactlyInAnyOrder(
+                tuple(marker + " One, Inc", LocalDate.of(2024, 12, 31), 1000.50),
+                tuple(marker + " Five", LocalDate.of(2025, 1, 15), 2500.00)
+            );
+        assertThat(policyImportService.getImport(result.importId())).hasValueSatisfying(status -> {
+            assertThat(status.phase()).isEqualTo(PolicyImportPhase.COMPLETED);
+            assertThat(status.bytesRead()).isEqualTo(csv.length);
+        });
+    }
+
+    @Test
+    void shouldStreamValidBusinessNamesWithTheirCounts() {
+        String marker = "Import " + UUID.randomUUID();
+        byte[] csv = String.join("\n",
+            "business_name,coverage_period,coverage_amount",
+            marker + " One,2024-12-31,1000",
+            marker + " One,2025-01-15,2000",
+            marker + " Two,2024-12-31,1000",
+            marker + " Three,2024-12-31,0",
+            ""
+        ).getBytes(StandardCharsets.UTF_8);
+
+        Map<String, Integer> names = transactionTemplate.execute(status -> {
+            policyImportRepository.createStagingTable();
+            policyImportRepository.copyIntoStaging(new ByteArrayInputStream(csv), 1024);
+            policyImportRepository.markInvalidRows();
+            Map<String, Integer> counts = new HashMap<>();
+            policyImportRepository.forEachValidBusinessName(1, counts::put);
+            status.setRollbackOnly();
+            return counts;
+        });
+
+        assertThat(names).containsExactlyInAnyOrderEntriesOf(Map.of(marker + " One", 2, marker + " Two", 1));
+    }
+
+    @Test
+    void shouldRejectWholeImportWhenHeaderDoesNotMatch() {
+        String marker = "Import " + UUID.randomUUID();
+        byte[] csv = ("coverage_amount,coverage_period,business_name\n1000,2024-12-31," + marker + "\n")
+            .getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(
+            PolicyValidationException.class,
+            () -> policyImportService.importCsv(new ByteArrayInputStream(csv), csv.length)
+        );
+        assertThat(policyRepository.findPage(new PolicyFilter(marker, null, null), null, 10)).isEmpty();
+        assertThat(policyImportService.getImports())
+            .anySatisfy(status -> assertThat(status.phase()).isEqualTo(PolicyImportPhase.FAILED));
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.policymanagement.repository;
+
+import org.example.policymanagement.TestcontainersConfiguration;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.example.policymanagement.dto.PolicyChangeType;
+import org.example.policymanagement.exception.PolicyConflictException;
+import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.service.PolicyPartitionMaintainer;
+import org.example.policymanagement.service.PolicyPartitionService;
+import org.example.policymanagement.service.PolicyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class PolicyPartitionRepositoryTest {
+
+    @Autowired
+    private PolicyPartitionRepository partitionRepository;
+
+    @Autowired
+    private PolicyPartitionMaintainer partitionMaintainer;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private PolicyPartitionService partitionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    // Each test uses its own years, far from other tests' data, so their partitions do not overlap.
+
+    @Test
+    void shouldMoveDefaultPartitionRowsIntoNewQuarterAndPruneRangeScans() {
+        Policy policy = policyRepository.save(new Policy("Partition Corp", LocalDate.of(1992, 2, 10), 1000.00));
+        assertThat(partitionOf(policy)).isEqualTo("policies_default");
+
+        assertThat(partitionRepository.createPartition(LocalDate.of(1992, 3, 31))).isTrue();
+        assertThat(partitionRepository.createPartition(LocalDate.of(1992, 1, 1))).isFalse();
+
+        assertThat(partitionOf(policy)).isEqualTo("policies_1992_q1");
+        assertThat(policyRepository.findById(policy.getId())).contains(policy);
+        assertThat(partitionRepository.findDefaultPartitionQuarters()).doesNotContain(LocalDate.of(1992, 1, 1));
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+            "EXPLAIN SELECT * FROM policies WHERE coverage_period BETWEEN '1992-01-01' AND '1992-03-31'", String.class));
+        assertThat(plan).contains("policies_1992_q1").doesNotContain("policies_default");
+    }
+
+    @Test
+    void shouldDetachQuarterTogetherWithItsCoverageAggregatesAndCachedPolicies() {
+        partitionRepository.createPartition(LocalDate.of(1993, 4, 1));
+        Policy policy = policyService.createPolicy("Detached Corp", LocalDate.of(1993, 5, 10), 1000.00);
+        assertThat(policyService.getPolicy(policy.getId())).isPresent();
+
+        assertThat(partitionService.detachQuarter(LocalDate.of(1993, 6, 30))).isTrue();
+        assertThat(partitionService.detachQuarter(LocalDate.of(1993, 6, 30))).isFalse();
+
+        assertThat(policyService.getPolicy(policy.getId())).isEmpty();
+        assertThat(policyRepository.findById(policy.getId())).isEmpty();
+        assertThat(isRegistered(policy)).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM policies_1993_q2", Long.class)).isOne();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM coverage_aggregates WHERE period_month = '1993-05-01'", Long.class)).isZero();
+        assertThat(events.stream(PolicyChangeEvent.class).map(PolicyChangeEvent::type))
+            .containsOnlyOnce(PolicyChangeType.DETACHED);
+    }
+
+    @Test
+    void shouldKeepIdsUniqueAcrossQuartersAndThroughMoves() {
+        partitionRepository.createPartition(LocalDate.of(1995, 1, 1));
+        partitionRepository.createPartition(LocalDate.of(1995, 4, 1));
+        Policy policy = policyService.createPolicy("Unique Corp", LocalDate.of(1995, 2, 10), 1000.00);
+
+        assertThrows(DuplicateKeyException.class, () -> policyRepository.insertAll(
+            List.of(new Policy(policy.getId(), "Copy Corp", LocalDate.of(1995, 5, 10), 1000.00))));
+
+        policyService.updatePolicy(policy.getId(), null, LocalDate.of(1995, 5, 10), null, null);
+        assertThat(partitionOf(policy)).isEqualTo("policies_1995_q2");
+        assertThat(isRegistered(policy)).isTrue();
+        assertThrows(DuplicateKeyException.class, () -> policyRepository.insertAll(
+            List.of(new Policy(policy.getId(), "Copy Corp", LocalDate.of(1995, 2, 10), 1000.00))));
+
+        policyService.deletePolicy(policy.getId());
+        assertThat(isRegistered(policy)).isFalse();
+    }
+
+    @Test
+    void shouldReportConflictToAnUpdateThatWaitedOnAPolicyMovingPartition() {
+        Policy policy = createPolicyToMove(1996);
+
+        Throwable failure = failureOfWriteBlockedByMove(policy, LocalDate.of(1996, 5, 10),
+            () -> policyService.updatePolicy(policy.getId(), "Renamed Corp", null, null, null));
+
+        assertThat(failure).isInstanceOf(PolicyConflictException.class);
+        assertThat(policyRepository.findById(policy.getId()))
+            .hasValueSatisfying(moved -> assertThat(moved.getBusinessName()).isEqualTo("Moving Corp"));
+    }
+
+    @Test
+    void shouldReportConflictToADeleteThatWaitedOnAPolicyMovingPartition() {
+        Policy policy = createPolicyToMove(1997);
+
+        Throwable failure = failureOfWriteBlockedByMove(policy, LocalDate.of(1997, 5, 10),
+            () -> policyService.deletePolicy(policy.getId()));
+
+        assertThat(failure).isInstanceOf(PolicyConflictException.class);
+        assertThat(policyRepository.findById(policy.getId())).isPresent();
+    }
+
+    @Test
+    void shouldCreateUpcomingQuartersAndSplitStrayQuartersOutOfDefaultPartition() {
+        Policy stray = policyRepository.save(new Policy("Stray Corp", LocalDate.of(1994, 11, 1), 1000.00));
+
+        int created = partitionMaintainer.maintain(LocalDate.of(1985, 8, 20));
+
+        // The current quarter plus the default four ahead, and the stray policy's quarter.
+        assertThat(created).isGreaterThanOrEqualTo(6);
+        assertThat(tableExists("policies_1985_q3")).isTrue();
+        assertThat(tableExists("policies_1986_q3")).isTrue();
+        assertThat(tableExists("policies_1986_q4")).isFalse();
+        assertThat(partitionOf(stray)).isEqualTo("policies_1994_q4");
+        assertThat(partitionMaintainer.maintain(LocalDate.of(1985, 8, 20))).isZero();
+    }
+
+    private Policy createPolicyToMove(int year) {
+        partitionRepository.createPartition(LocalDate.of(year, 1, 1));
+        partitionRepository.createPartition(LocalDate.of(year, 4, 1));
+        return policyService.createPolicy("Moving Corp", LocalDate.of(year, 2, 10), 1000.00);
+    }
+
+    // Moves the policy in one transaction and, while that holds the row, starts the write on another
+    // thread. The move commits once the write is waiting for the row lock.
+    private Throwable failureOfWriteBlockedByMove(Policy policy, LocalDate movedTo, Callable<?> write) {
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> blocked = transactionTemplate.execute(status -> {
+                policyService.updatePolicy(policy.getId(), null, movedTo, null, null);
+                Future<?> submitted = executor.submit(write);
+                awaitLockWait();
+                return submitted;
+            });
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> blocked.get(10, TimeUnit.SECONDS));
+            return failure.getCause();
+        }
+    }
+
+    private void awaitLockWait() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_stat_activity WHERE datname = current_database() AND wait_event_type = 'Lock'",
+            Long.class) == 0) {
+            assertThat(System.nanoTime()).as("write waiting on the moving row").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private boolean isRegistered(Policy policy) {
+        return jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM policy_ids WHERE id = ?)", Boolean.class, policy.getId());
+    }
+
+    private String partitionOf(Policy policy) {
+        return jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM policies WHERE id = ?", String.class, policy.getId());
+    }
+
+    private boolean tableExists(String name) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+    }
+}
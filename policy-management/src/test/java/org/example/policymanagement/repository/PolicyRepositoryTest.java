@@ -1,7 +1,11 @@
 package org.example.policymanagement.repository;
 
 import org.example.policymanagement.TestcontainersConfiguration;
+import org.example.policymanagement.dto.PolicyFilter;
+import org.example.policymanagement.dto.PolicyPage;
+import org.example.policymanagement.dto.PolicySearchMode;
 import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.service.PolicyETags;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -9,7 +13,11 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -49,9 +57,157 @@ class PolicyRepositoryTest {
         assertThat(updatedPolicy.getBusinessName()).isEqualTo("Acme Corporation");
         assertThat(updatedPolicy.getCoverageAmount()).isEqualTo(150000.00);
 
+        assertThat(policyRepository.findById(updatedPolicy.getId())).contains(updatedPolicy);
+
         // Delete
-        policyRepository.deleteById(updatedPolicy.getId());
+        assertThat(policyRepository.deleteById(updatedPolicy.getId())).contains(updatedPolicy);
         Optional<Policy> deletedPolicy = policyRepository.findById(updatedPolicy.getId());
         assertThat(deletedPolicy).isEmpty();
+        assertThat(policyRepository.deleteById(updatedPolicy.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldUpdateOnlyWhenVersionMatches() {
+        Policy saved = policyRepository.save(new Policy("Versioned Corp", LocalDate.of(2024, 12, 31), 1000.00));
+        assertThat(saved.getVersion()).isZero();
+
+        Optional<UpdatedPolicy> updated = policyRepository.update(saved.getId(), null, null, 2000.00, 0L);
+
+        assertThat(updated).hasValueSatisfying(result -> {
+            assertThat(result.previous()).isEqualTo(saved);
+            assertThat(result.current().getBusinessName()).isEqualTo("Versioned Corp");
+            assertThat(result.current().getCoverageAmount()).isEqualTo(2000.00);
+            assertThat(result.current().getVersion()).isEqualTo(1);
+        });
+        assertThat(policyRepository.update(saved.getId(), "Stale Corp", null, null, 0L)).isEmpty();
+        assertThat(policyRepository.findVersionById(saved.getId())).contains(1L);
+        assertThat(policyRepository.update(saved.getId(), "Unchecked Corp", null, null, null))
+            .hasValueSatisfying(result -> assertThat(result.current().getVersion()).isEqualTo(2));
+    }
+
+    @Test
+    void shouldPageThroughFilteredPoliciesInIdOrder() {
+        String marker = "Paging " + UUID.randomUUID();
+        List<Policy> saved = List.of(
+            policyRepository.save(new Policy(marker + " One", LocalDate.of(2024, 3, 31), 1000.00)),
+            policyRepository.save(new Policy(marker + " Two", LocalDate.of(2024, 6, 30), 2000.00)),
+            policyRepository.save(new Policy(marker + " Three", LocalDate.of(2024, 9, 30), 3000.00))
+        );
+        // Postgres orders UUIDs by unsigned bytes, which matches their hex string order.
+        List<UUID> expectedOrder = saved.stream()
+            .map(Policy::getId)
+            .sorted(Comparator.comparing(UUID::toString))
+            .toList();
+        PolicyFilter filter = new PolicyFilter(marker.toLowerCase(), null, null);
+
+        List<Policy> firstPage = policyRepository.findPage(filter, null, 2);
+        List<Policy> secondPage = policyRepository.findPage(filter, firstPage.get(1).getId(), 2);
+
+        assertThat(firstPage).extracting(Policy::getId).containsExactlyElementsOf(expectedOrder.subList(0, 2));
+        assertThat(secondPage).extracting(Policy::getId).containsExactly(expectedOrder.get(2));
+
+        PolicyPage page = new PolicyPage(firstPage, "more");
+        assertThat("W/\"" + policyRepository.fingerprintPage(filter, null, 2) + "\"").isEqualTo(PolicyETags.forPage(page));
+        assertThat("W/\"" + policyRepository.fingerprintPage(filter, firstPage.get(1).getId(), 2) + "\"")
+            .isEqualTo(PolicyETags.forPage(new PolicyPage(secondPage, null)));
+
+        List<Policy> inRange = policyRepository.findPage(
+            new PolicyFilter(marker, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 12, 31)), null, 10);
+        assertThat(inRange).extracting(Policy::getBusinessName)
+            .containsExactlyInAnyOrder(marker + " Two", marker + " Three");
+    }
+
+    @Test
+    void shouldPageThroughCoveragePeriodRangeInPeriodOrder() {
+        // A year no other test writes, so the range holds only these policies.
+        Policy march = policyRepository.save(new Policy("Range March", LocalDate.of(1991, 3, 31), 1000.00));
+        Policy aprilOne = policyRepository.save(new Policy("Range April One", LocalDate.of(1991, 4, 1), 2000.00));
+        Policy aprilTwo = policyRepository.save(new Policy("Range April Two", LocalDate.of(1991, 4, 1), 3000.00));
+        policyRepository.save(new Policy("Range July", LocalDate.of(1991, 7, 1), 4000.00));
+        List<Policy> april = aprilOne.getId().toString().compareTo(aprilTwo.getId().toString()) < 0
+            ? List.of(aprilOne, aprilTwo)
+            : List.of(aprilTwo, aprilOne);
+
+        List<Policy> firstPage = policyRepository.findByCoveragePeriod(
+            LocalDate.of(1991, 3, 1), LocalDate.of(1991, 6, 30), null, null, 2);
+        Policy last = firstPage.get(1);
+        List<Policy> secondPage = policyRepository.findByCoveragePeriod(
+            LocalDate.of(1991, 3, 1), LocalDate.of(1991, 6, 30), last.getCoveragePeriod(), last.getId(), 2);
+
+        assertThat(firstPage).containsExactly(march, april.get(0));
+        assertThat(secondPage).containsExactly(april.get(1));
+    }
+
+    @Test
+    void shouldKeepOnePolicyWhenSaveMovesItToAnotherQuarter() {
+        Policy saved = policyRepository.save(new Policy("Moving Corp", LocalDate.of(2024, 2, 15), 1000.00));
+        saved.setCoveragePeriod(LocalDate.of(2024, 8, 15));
+
+        Policy moved = policyRepository.save(saved);
+
+        assertThat(moved.getCoveragePeriod()).isEqualTo(LocalDate.of(2024, 8, 15));
+        assertThat(moved.getVersion()).isEqualTo(1);
+        assertThat(policyRepository.findByCoveragePeriod(
+            LocalDate.of(2024, 2, 15), LocalDate.of(2024, 8, 15), null, null, 1_000))
+            .extracting(Policy::getId)
+            .containsOnlyOnce(saved.getId());
+    }
+
+    @Test
+    void shouldSearchBusinessNamesByPrefixAndSubstring() {
+        String marker = "Search" + UUID.randomUUID().toString().substring(0, 8);
+        Policy acme = policyRepository.save(new Policy(marker + " Acme_Holdings", LocalDate.of(2024, 12, 31), 1000.00));
+        Policy globex = policyRepository.save(new Policy(marker + " Globex", LocalDate.of(2024, 12, 31), 2000.00));
+
+        assertThat(policyRepository.searchByBusinessName(marker.toUpperCase(), PolicySearchMode.PREFIX, 10))
+            .containsExactly(acme, globex);
+        assertThat(policyRepository.searchByBusinessName(marker + " G", PolicySearchMode.PREFIX, 10))
+            .containsExactly(globex);
+        assertThat(policyRepository.searchByBusinessName("ACME_HOLD", PolicySearchMode.CONTAINS, 10))
+            .contains(acme)
+            .doesNotContain(globex);
+        // '_' is matched literally, not as a single-character wildcard
+        assertThat(policyRepository.searchByBusinessName("Acme_", PolicySearchMode.CONTAINS, 10))
+            .allSatisfy(policy -> assertThat(policy.getBusinessName()).containsIgnoringCase("acme_"));
+        assertThat(policyRepository.findBusinessNamesByPrefix(marker.toLowerCase(), 1))
+            .containsExactly(marker + " Acme_Holdings");
+    }
+
+    @Test
+    void shouldInsertPoliciesInChunkedBatches() {
+        List<Policy> policies = List.of(
+            new Policy("Batch One", LocalDate.of(2024, 12, 31), 1000.00),
+            new Policy("Batch Two", LocalDate.of(2024, 12, 31), 2000.00),
+            new Policy("Batch Three", LocalDate.of(2024, 12, 31), 3000.00)
+        );
+
+        policyRepository.saveAll(policies, 2);
+
+        assertThat(policies).allSatisfy(policy ->
+            assertThat(policyRepository.findById(policy.getId())).contains(policy));
+    }
+
+    @Test
+    void shouldInsertPoliciesInOneStatementAndReturnStoredRows() {
+        List<Policy> policies = List.of(
+            new Policy("Grouped One", LocalDate.of(2024, 12, 31), 1000.25),
+            new Policy("Grouped Two", LocalDate.of(2025, 1, 15), 2000.50)
+        );
+
+        List<Policy> inserted = policyRepository.insertAll(policies);
+
+        assertThat(inserted).containsExactlyInAnyOrderElementsOf(policies);
+        assertThat(policies).allSatisfy(policy ->
+            assertThat(policyRepository.findById(policy.getId())).contains(policy));
+    }
+
+    @Test
+    void shouldStreamEveryPolicy() {
+        Policy policy = policyRepository.save(new Policy("Streamed Corp", LocalDate.of(2024, 12, 31), 1000.00));
+        List<Policy> streamed = new ArrayList<>();
+
+        policyRepository.forEach(2, streamed::add);
+
+        assertThat(streamed).contains(policy);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package org.example.policymanagement.repository;
+
+import org.example.policymanagement.TestcontainersConfiguration;
+import org.example.policymanagement.config.ReadReplica;
+import org.example.policymanagement.dto.PolicySearchMode;
+import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.service.PolicyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against two independent containers standing in for a primary and its replica. Since
+ * nothing replicates between them, whichever database a read sees shows where it was routed.
+ */
+@SpringBootTest(properties = {
+    "policy.read-replica.enabled=true",
+    "policy.read-replica.lag-check-interval=100ms",
+    "policy.cache.maximum-size=0"
+})
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16"));
+    private static final JdbcTemplate REPLICA_JDBC;
+
+    static {
+        REPLICA.start();
+        DriverManagerDataSource dataSource =
+            new DriverManagerDataSource(REPLICA.getJdbcUrl(), REPLICA.getUsername(), REPLICA.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        REPLICA_JDBC = new JdbcTemplate(dataSource);
+    }
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("policy.read-replica.url", REPLICA::getJdbcUrl);
+        registry.add("policy.read-replica.username", REPLICA::getUsername);
+        registry.add("policy.read-replica.password", REPLICA::getPassword);
+    }
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private ReadReplica readReplica;
+
+    @Test
+    void shouldReadFromReplicaAndWriteToPrimary() throws Exception {
+        awaitReplica();
+        String marker = "Replica " + UUID.randomUUID();
+        UUID replicaOnly = UUID.randomUUID();
+        REPLICA_JDBC.update(
+            "INSERT INTO policies (id, business_name, coverage_period, coverage_amount) VALUES (?, ?, ?, ?)",
+            replicaOnly, marker + " Only", LocalDate.of(2024, 12, 31), 1000.00);
+
+        policyService.createPolicy(marker + " Created", LocalDate.of(2024, 12, 31), 2000.00);
+
+        assertThat(policyService.getPolicy(replicaOnly)).isPresent();
+        assertThat(policyService.searchPolicies(marker, PolicySearchMode.PREFIX, null))
+            .extracting(Policy::getId)
+            .containsExactly(replicaOnly);
+        assertThat(policyService.deletePolicy(replicaOnly)).isFalse();
+    }
+
+    @Test
+    void shouldReadOwnRecentWritesFromPrimary() throws Exception {
+        awaitReplica();
+
+        Policy created = policyService.createPolicy("Replica Writer", LocalDate.of(2024, 12, 31), 3000.00);
+
+        assertThat(policyService.getPolicy(created.getId())).contains(created);
+        assertThat(policyService.getPolicyETag(created.getId())).isPresent();
+    }
+
+    private void awaitReplica() throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && !readReplica.isUsable(); attempt++) {
+            Thread.sleep(100);
+        }
+        assertThat(readReplica.isUsable()).isTrue();
+    }
+}
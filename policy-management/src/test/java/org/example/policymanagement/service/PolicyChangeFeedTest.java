@@ -0,0 +1,197 @@
+package org.example.policymanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.example.policymanagement.model.Policy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolicyChangeFeedTest {
+
+    private PolicyProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PolicyProperties();
+        properties.getChangeFeed().setBufferSize(3);
+        properties.getChangeFeed().setSubscriberQueueCapacity(2);
+    }
+
+    @Test
+    void shouldReplayChangesAfterLastEventIdInsideBuffer() throws Exception {
+        // Given
+        PolicyChangeFeed feed = new PolicyChangeFeed(properties);
+        RecordingEmitter live = new RecordingEmitter();
+        feed.subscribe(live, null);
+        appendChanges(feed, 3);
+        String firstId = live.next().id();
+        String secondId = live.next().id();
+        String thirdId = live.next().id();
+
+        // When
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe(resumed, firstId);
+
+        // Then
+        assertThat(resumed.next()).isEqualTo(new Sent(secondId, "created"));
+        assertThat(resumed.next()).isEqualTo(new Sent(thirdId, "created"));
+        assertThat(resumed.nothingMore()).isTrue();
+    }
+
+    @Test
+    void shouldResetClientsWithIdsFromAnotherProcessOrUnreadable() throws Exception {
+        // Given
+        PolicyChangeFeed feed = new PolicyChangeFeed(properties);
+        appendChanges(feed, 1);
+
+        // When
+        RecordingEmitter foreign = new RecordingEmitter();
+        feed.subscribe(foreign, "otherprocess-1");
+        RecordingEmitter unreadable = new RecordingEmitter();
+        feed.subscribe(unreadable, "not-a-sequence");
+
+        // Then
+        assertThat(foreign.next()).isEqualTo(Sent.RESET);
+        assertThat(unreadable.next()).isEqualTo(Sent.RESET);
+    }
+
+    @Test
+    void shouldResetClientsWhoseMissedChangesWereEvicted() throws Exception {
+        // Given
+        PolicyChangeFeed feed = new PolicyChangeFeed(properties);
+        RecordingEmitter live = new RecordingEmitter();
+        feed.subscribe(live, null);
+        appendChanges(feed, 5);
+        String firstId = live.next().id();
+        String secondId = live.next().id();
+        live.next();
+        live.next();
+        String fifthId = live.next().id();
+
+        // When
+        RecordingEmitter tooOld = new RecordingEmitter();
+        feed.subscribe(tooOld, firstId);
+        RecordingEmitter oldestResumable = new RecordingEmitter();
+        feed.subscribe(oldestResumable, secondId);
+
+        // Then
+        assertThat(tooOld.next()).isEqualTo(Sent.RESET);
+        assertThat(oldestResumable.next().name()).isEqualTo("created");
+        assertThat(oldestResumable.next().name()).isEqualTo("created");
+        assertThat(oldestResumable.next().id()).isEqualTo(fifthId);
+        assertThat(oldestResumable.nothingMore()).isTrue();
+    }
+
+    @Test
+    void shouldDisconnectSubscriberThatFallsAQueueBehind() throws Exception {
+        // Given
+        PolicyChangeFeed feed = new PolicyChangeFeed(properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        feed.bindTo(registry);
+        StalledEmitter stalled = new StalledEmitter();
+        feed.subscribe(stalled, null);
+        appendChanges(feed, 1);
+        assertThat(stalled.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("policy.change.feed.subscribers").gauge().value()).isEqualTo(1);
+
+        // When: the queue holds buffer-size plus subscriber-queue-capacity changes
+        appendChanges(feed, 6);
+
+        // Then
+        assertThat(registry.get("policy.change.feed.subscribers").gauge().value()).isZero();
+        stalled.release.countDown();
+    }
+
+    @Test
+    void shouldTellSubscribersToReloadAndForgetHistoryOnReset() throws Exception {
+        // Given
+        PolicyChangeFeed feed = new PolicyChangeFeed(properties);
+        RecordingEmitter live = new RecordingEmitter();
+        feed.subscribe(live, null);
+        appendChanges(feed, 1);
+        String beforeReset = live.next().id();
+
+        // When
+        feed.reset();
+
+        // Then
+        assertThat(live.next()).isEqualTo(Sent.RESET);
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe(resumed, beforeReset);
+        assertThat(resumed.next()).isEqualTo(Sent.RESET);
+    }
+
+    private static void appendChanges(PolicyChangeFeed feed, int count) {
+        for (int i = 0; i < count; i++) {
+            feed.append(PolicyChangeEvent.created(
+                new Policy(UUID.randomUUID(), "Feed Corp " + i, LocalDate.of(2024, 12, 31), 1000.00)));
+        }
+    }
+
+    private record Sent(String id, String name) {
+        static final Sent RESET = new Sent(null, "reset");
+
+        static Sent parse(String text) {
+            String id = null;
+            String name = null;
+            for (String line : text.split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring("id:".length());
+                } else if (line.startsWith("event:")) {
+                    name = line.substring("event:".length());
+                }
+            }
+            return new Sent(id, name);
+        }
+    }
+
+    /** Keeps what the feed sends instead of writing it to a response. */
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            sent.add(Sent.parse(text.toString()));
+        }
+
+        Sent next() throws InterruptedException {
+            Sent next = sent.poll(5, TimeUnit.SECONDS);
+            assertThat(next).as("event sent within 5 seconds").isNotNull();
+            return next;
+        }
+
+        boolean nothingMore() throws InterruptedException {
+            return sent.poll(200, TimeUnit.MILLISECONDS) == null;
+        }
+    }
+
+    /** A client that stops reading: the first send blocks until released. */
+    private static final class StalledEmitter extends RecordingEmitter {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
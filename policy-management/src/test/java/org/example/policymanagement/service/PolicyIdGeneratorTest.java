@@ -0,0 +1,40 @@
+package org.example.policymanagement.service;
+
+import org.example.policymanagement.config.PolicyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolicyIdGeneratorTest {
+
+    @Test
+    void shouldGenerateRandomIdsByDefault() {
+        UUID id = new PolicyIdGenerator(new PolicyProperties()).next();
+
+        assertThat(id.version()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldGenerateVersion7IdsWhenTimeOrdered() {
+        PolicyProperties properties = new PolicyProperties();
+        properties.getIds().setStrategy(PolicyProperties.IdStrategy.TIME_ORDERED);
+
+        UUID id = new PolicyIdGenerator(properties).next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLeadWithTheTimestampSoLaterIdsSortAfterEarlierOnes() {
+        long millis = 1_735_603_200_000L;
+
+        UUID earlier = PolicyIdGenerator.timeOrdered(millis);
+        UUID later = PolicyIdGenerator.timeOrdered(millis + 1);
+
+        assertThat(earlier.getMostSignificantBits() >>> 16).isEqualTo(millis);
+        assertThat(later.toString()).isGreaterThan(earlier.toString());
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.policymanagement.service;
+
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.example.policymanagement.dto.PolicyChangeType;
+import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.repository.PolicyPartitionRepository;
+import org.example.policymanagement.repository.PolicyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyPartitionServiceTest {
+
+    private static final LocalDate QUARTER = LocalDate.of(2020, 1, 1);
+
+    @Mock
+    private PolicyPartitionRepository policyPartitionRepository;
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PolicyCache policyCache;
+
+    private PolicyNameIndex policyNameIndex;
+
+    private PolicyPartitionService policyPartitionService;
+
+    private final Policy detached = new Policy(UUID.randomUUID(), "Retired Corp", LocalDate.of(2020, 2, 1), 1000.00);
+    private final Policy detachedTwin = new Policy(UUID.randomUUID(), "Retired Corp", LocalDate.of(2020, 3, 1), 1000.00);
+    private final Policy kept = new Policy(UUID.randomUUID(), "Kept Corp", LocalDate.of(2021, 2, 1), 1000.00);
+
+    @BeforeEach
+    void setUp() {
+        PolicyProperties properties = new PolicyProperties();
+        properties.getNameIndex().setEnabled(true);
+        policyCache = new PolicyCache(properties);
+        policyNameIndex = new PolicyNameIndex(policyRepository, TransactionOperations.withoutTransaction(), properties);
+        policyPartitionService = new PolicyPartitionService(
+            policyPartitionRepository,
+            policyCache,
+            policyNameIndex,
+            properties,
+            TransactionOperations.withoutTransaction(),
+            eventPublisher
+        );
+    }
+
+    @Test
+    void shouldTakeDetachedPoliciesOutOfCacheAndNameIndexAndTellSubscribers() {
+        // Given
+        doAnswer(invocation -> {
+            List.of(detached, detachedTwin, kept).forEach(invocation.<Consumer<Policy>>getArgument(1));
+            return null;
+        }).when(policyRepository).forEach(anyInt(), any());
+        policyNameIndex.load();
+        policyCache.put(detached);
+        policyCache.put(kept);
+        when(policyPartitionRepository.detachPartition(QUARTER)).thenReturn(true);
+        doAnswer(invocation -> {
+            BiConsumer<UUID, String> action = invocation.getArgument(2);
+            action.accept(detached.getId(), detached.getBusinessName());
+            action.accept(detachedTwin.getId(), detachedTwin.getBusinessName());
+            return null;
+        }).when(policyPartitionRepository).forEachDetachedPolicy(eq(QUARTER), anyInt(), any());
+
+        // When
+        boolean result = policyPartitionService.detachQuarter(QUARTER);
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(policyCache.get(detached.getId(), id -> Optional.of(detached))).isEmpty();
+        assertThat(policyCache.getIfCached(kept.getId())).contains(kept);
+        assertThat(policyCache.getIfCached(detachedTwin.getId())).isEmpty();
+        assertThat(policyCache.stats().estimatedSize()).isEqualTo(2);
+        assertThat(policyNameIndex.suggest("", 10)).containsExactly("Kept Corp");
+        verify(eventPublisher).publishEvent(argThat((PolicyChangeEvent event) ->
+            event.type() == PolicyChangeType.DETACHED && event.policyId() == null));
+    }
+
+    @Test
+    void shouldLeaveEverythingAloneWhenQuarterIsNotAttached() {
+        // Given
+        when(policyPartitionRepository.detachPartition(QUARTER)).thenReturn(false);
+
+        // When
+        boolean result = policyPartitionService.detachQuarter(QUARTER);
+
+        // Then
+        assertThat(result).isFalse();
+        verify(policyPartitionRepository, never()).forEachDetachedPolicy(any(), anyInt(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -1,21 +1,52 @@
 package org.example.policymanagement.service;
 
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.dto.BatchCreatePolicyResponse;
+import org.example.policymanagement.dto.CreatePolicyRequest;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.example.policymanagement.dto.PolicyChangeType;
+import org.example.policymanagement.dto.PolicyFilter;
+import org.example.policymanagement.dto.PolicyPage;
+import org.example.policymanagement.dto.PolicySearchMode;
 import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.repository.CoverageAggregateRepository;
 import org.example.policymanagement.repository.PolicyRepository;
+import org.example.policymanagement.repository.UpdatedPolicy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.example.policymanagement.exception.PolicyConflictException;
+import org.example.policymanagement.exception.PolicyPreconditionRequiredException;
+import org.example.policymanagement.exception.PolicyServiceOverloadedException;
 import org.example.policymanagement.exception.PolicyValidationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -25,11 +56,31 @@ class PolicyServiceTest {
     @Mock
     private PolicyRepository policyRepository;
 
+    @Mock
+    private CoverageAggregateRepository coverageAggregateRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PolicyProperties properties;
+
     private PolicyService policyService;
 
     @BeforeEach
     void setUp() {
-        policyService = new PolicyService(policyRepository);
+        properties = new PolicyProperties();
+        policyService = new PolicyService(
+            policyRepository,
+            coverageAggregateRepository,
+            properties,
+            new PolicyCache(properties),
+            new PolicyNameIndex(policyRepository, TransactionOperations.withoutTransaction(), properties),
+            new PolicyWriteBuffer(
+                policyRepository, coverageAggregateRepository, TransactionOperations.withoutTransaction(), properties),
+            new PolicyIdGenerator(properties),
+            new RecentPolicyWrites(properties),
+            eventPublisher
+        );
     }
 
     @Test
@@ -45,6 +96,104 @@ class PolicyServiceTest {
         assertThat(created.getId()).isNotNull();
         assertThat(created.getBusinessName()).isEqualTo("Acme Corp");
         verify(policyRepository).save(any(Policy.class));
+        verify(coverageAggregateRepository).add(LocalDate.of(2024, 12, 31), 1, 100000.00);
+        verify(eventPublisher).publishEvent(argThat((PolicyChangeEvent event) ->
+            event.type() == PolicyChangeType.CREATED && event.policy() == created));
+    }
+
+    @Test
+    void shouldGroupConcurrentCreatesIntoOneCommit() throws Exception {
+        // Given
+        properties.getWriteBuffer().setEnabled(true);
+        properties.getWriteBuffer().setMaxBatchSize(4);
+        properties.getWriteBuffer().setMaxDelay(Duration.ofSeconds(5));
+        when(policyRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        PolicyWriteBuffer writeBuffer = new PolicyWriteBuffer(
+            policyRepository, coverageAggregateRepository, TransactionOperations.withoutTransaction(), properties);
+        policyService = new PolicyService(
+            policyRepository,
+            coverageAggregateRepository,
+            properties,
+            new PolicyCache(properties),
+            new PolicyNameIndex(policyRepository, TransactionOperations.withoutTransaction(), properties),
+            writeBuffer,
+            new PolicyIdGenerator(properties),
+            new RecentPolicyWrites(properties),
+            eventPublisher
+        );
+
+        // When
+        List<Policy> created;
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<Policy>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String businessName = "Grouped Corp " + i;
+                futures.add(executor.submit(() ->
+                    policyService.createPolicy(businessName, LocalDate.of(2024, 12, 31), 100000.00)));
+            }
+            created = new ArrayList<>();
+            for (Future<Policy> future : futures) {
+                created.add(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            writeBuffer.close();
+        }
+
+        // Then
+        assertThat(created).extracting(Policy::getBusinessName)
+            .containsExactlyInAnyOrder("Grouped Corp 0", "Grouped Corp 1", "Grouped Corp 2", "Grouped Corp 3");
+        verify(policyRepository).insertAll(argThat(policies -> policies.size() == 4));
+        verify(coverageAggregateRepository).addAll(argThat(policies -> policies.size() == 4));
+        verify(policyRepository, never()).save(any(Policy.class));
+    }
+
+    @Test
+    void shouldCreateValidPoliciesInBatchAndReportRejectedOnes() {
+        // Given
+        List<CreatePolicyRequest> requests = List.of(
+            new CreatePolicyRequest("Acme Corp", LocalDate.of(2024, 12, 31), 100000.00),
+            new CreatePolicyRequest("", LocalDate.of(2024, 12, 31), 100000.00),
+            new CreatePolicyRequest("Globex Corp", LocalDate.of(2024, 12, 31), 200000.00)
+        );
+
+        // When
+        BatchCreatePolicyResponse response = policyService.createPolicies(requests);
+
+        // Then
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(1);
+        assertThat(response.results().get(0).id()).isNotNull();
+        assertThat(response.results().get(1).id()).isNull();
+        assertThat(response.results().get(1).error()).isEqualTo("Business name is required");
+        assertThat(response.results().get(2).id()).isNotNull();
+        verify(policyRepository).saveAll(anyList(), eq(new PolicyProperties().getBatch().getChunkSize()));
+        verify(coverageAggregateRepository).addAll(argThat(policies -> policies.size() == 2));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBatchIsEmpty() {
+        PolicyValidationException exception = assertThrows(
+            PolicyValidationException.class,
+            () -> policyService.createPolicies(List.of())
+        );
+        assertThat(exception.getMessage()).isEqualTo("At least one policy is required");
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanMaxSize() {
+        // Given
+        properties.getBatch().setMaxSize(2);
+        CreatePolicyRequest request = new CreatePolicyRequest("Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+
+        // When
+        PolicyValidationException exception = assertThrows(
+            PolicyValidationException.class,
+            () -> policyService.createPolicies(List.of(request, request, request))
+        );
+
+        // Then
+        assertThat(exception.getMessage()).isEqualTo("At most 2 policies can be created in one batch");
+        verifyNoInteractions(policyRepository, coverageAggregateRepository);
     }
 
     @Test
@@ -64,55 +213,456 @@ class PolicyServiceTest {
     }
 
     @Test
-    void shouldUpdateExistingPolicy() {
+    void shouldServeRepeatedLookupsFromCache() {
         // Given
         UUID id = UUID.randomUUID();
         Policy existingPolicy = new Policy(id, "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
-        Policy updatedPolicy = new Policy(id, "Acme Corp Updated", LocalDate.of(2024, 12, 31), 150000.00);
-        
         when(policyRepository.findById(id)).thenReturn(Optional.of(existingPolicy));
-        when(policyRepository.save(any(Policy.class))).thenReturn(updatedPolicy);
 
         // When
-        Optional<Policy> result = policyService.updatePolicy(id, "Acme Corp Updated", null, 150000.00);
+        policyService.getPolicy(id);
+        Optional<Policy> found = policyService.getPolicy(id);
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get().getBusinessName()).isEqualTo("Acme Corp Updated");
-        assertThat(result.get().getCoverageAmount()).isEqualTo(150000.00);
-        verify(policyRepository).save(any(Policy.class));
+        assertThat(found).contains(existingPolicy);
+        verify(policyRepository, times(1)).findById(id);
+    }
+
+    @Test
+    void shouldNotLetCallersChangeCachedPolicy() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(policyRepository.findById(id))
+            .thenReturn(Optional.of(new Policy(id, "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00)));
+        policyService.getPolicy(id).orElseThrow().setBusinessName("Changed Corp");
+
+        // When
+        Optional<Policy> found = policyService.getPolicy(id);
+
+        // Then
+        assertThat(found).get().extracting(Policy::getBusinessName).isEqualTo("Acme Corp");
+        verify(policyRepository, times(1)).findById(id);
     }
 
     @Test
-    void shouldReturnAllPolicies() {
+    void shouldCacheMissingPolicyUntilItIsWritten() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(policyRepository.findById(id)).thenReturn(Optional.empty());
+
+        // When
+        policyService.getPolicy(id);
+        Optional<Policy> found = policyService.getPolicy(id);
+
+        // Then
+        assertThat(found).isEmpty();
+        verify(policyRepository, times(1)).findById(id);
+    }
+
+    @Test
+    void shouldServeCreatedPolicyFromCacheWithoutReading() {
+        // Given
+        when(policyRepository.save(any(Policy.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Policy created = policyService.createPolicy("Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+        Optional<Policy> found = policyService.getPolicy(created.getId());
+
+        // Then
+        assertThat(found).contains(created);
+        verify(policyRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldNotServeDeletedPolicyFromCache() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Policy existingPolicy = new Policy(id, "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+        when(policyRepository.findById(id)).thenReturn(Optional.of(existingPolicy));
+        when(policyRepository.deleteById(id)).thenReturn(Optional.of(existingPolicy));
+        policyService.getPolicy(id);
+
+        // When
+        policyService.deletePolicy(id);
+        Optional<Policy> found = policyService.getPolicy(id);
+
+        // Then
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void shouldKeepServingCommittedPolicyWhenUpdateRollsBack() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Policy stored = new Policy(id, "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00, 1);
+        Policy updated = new Policy(id, "Acme Corp Updated", LocalDate.of(2024, 12, 31), 100000.00, 2);
+        when(policyRepository.findById(id)).thenReturn(Optional.of(stored));
+        when(policyRepository.update(id, "Acme Corp Updated", null, null, null))
+            .thenReturn(Optional.of(new UpdatedPolicy(stored, updated)));
+        policyService.getPolicy(id);
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            policyService.updatePolicy(id, "Acme Corp Updated", null, null, null);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(policyService.getPolicy(id)).contains(stored);
+        verify(policyRepository).findById(id);
+    }
+
+    @Test
+    void shouldTakeETagFromCacheBeforeQueryingVersion() {
+        // Given
+        UUID cachedId = UUID.randomUUID();
+        UUID uncachedId = UUID.randomUUID();
+        when(policyRepository.findById(cachedId))
+            .thenReturn(Optional.of(new Policy(cachedId, "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00, 2)));
+        when(policyRepository.findVersionById(uncachedId)).thenReturn(Optional.of(5L));
+        policyService.getPolicy(cachedId);
+
+        // When / Then
+        assertThat(policyService.getPolicyETag(cachedId)).contains("W/\"2\"");
+        assertThat(policyService.getPolicyETag(uncachedId)).contains("W/\"5\"");
+        verify(policyRepository, never()).findVersionById(cachedId);
+    }
+
+    @Test
+    void shouldUpdateExistingPolicy() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Policy existingPolicy = new Policy(id, "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00, 3);
+        Policy updatedPolicy = new Policy(id, "Acme Corp Updated", LocalDate.of(2024, 12, 31), 150000.00, 4);
+        when(policyRepository.update(id, "Acme Corp Updated", null, 150000.00, 3L))
+            .thenReturn(Optional.of(new UpdatedPolicy(existingPolicy, updatedPolicy)));
+
+        // When
+        Optional<Policy> result = policyService.updatePolicy(id, "Acme Corp Updated", null, 150000.00, 3L);
+
+        // Then
+        assertThat(result).contains(updatedPolicy);
+        verify(policyRepository, never()).findById(any());
+        verify(policyRepository, never()).save(any(Policy.class));
+        verify(coverageAggregateRepository).move(LocalDate.of(2024, 12, 31), 100000.00, LocalDate.of(2024, 12, 31), 150000.00);
+    }
+
+    @Test
+    void shouldRejectUpdateOfStaleVersion() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(policyRepository.update(id, "Acme Corp Updated", null, null, 3L)).thenReturn(Optional.empty());
+        when(policyRepository.findVersionById(id)).thenReturn(Optional.of(4L));
+
+        // When / Then
+        assertThrows(
+            PolicyConflictException.class,
+            () -> policyService.updatePolicy(id, "Acme Corp Updated", null, null, 3L)
+        );
+        verifyNoInteractions(coverageAggregateRepository);
+    }
+
+    @Test
+    void shouldReportConflictWhenPolicyMovedPartitionDuringUpdate() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(policyRepository.update(id, null, LocalDate.of(2025, 1, 1), null, null)).thenThrow(
+            movedToAnotherPartition());
+
+        // When / Then
+        assertThrows(
+            PolicyConflictException.class,
+            () -> policyService.updatePolicy(id, null, LocalDate.of(2025, 1, 1), null, null)
+        );
+        verifyNoInteractions(coverageAggregateRepository, eventPublisher);
+    }
+
+    @Test
+    void shouldAskClientToRetryWhenCoverageMoveDeadlocks() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Policy existingPolicy = new Policy(id, "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00, 3);
+        Policy updatedPolicy = new Policy(id, "Acme Corp", LocalDate.of(2025, 1, 1), 100000.00, 4);
+        when(policyRepository.update(id, null, LocalDate.of(2025, 1, 1), null, null))
+            .thenReturn(Optional.of(new UpdatedPolicy(existingPolicy, updatedPolicy)));
+        doThrow(new PessimisticLockingFailureException("deadlock detected", new SQLException("deadlock detected", "40P01")))
+            .when(coverageAggregateRepository).move(any(), anyDouble(), any(), anyDouble());
+
+        // When / Then
+        PolicyServiceOverloadedException exception = assertThrows(
+            PolicyServiceOverloadedException.class,
+            () -> policyService.updatePolicy(id, null, LocalDate.of(2025, 1, 1), null, null)
+        );
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofSeconds(1));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldRequireVersionWhenConfigured() {
+        // Given
+        properties.getUpdates().setRequireVersion(true);
+
+        // When / Then
+        assertThrows(
+            PolicyPreconditionRequiredException.class,
+            () -> policyService.updatePolicy(UUID.randomUUID(), "Acme Corp Updated", null, null, null)
+        );
+        verifyNoInteractions(policyRepository, coverageAggregateRepository);
+    }
+
+    @Test
+    void shouldReportMissingPolicyOnVersionedUpdate() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(policyRepository.update(id, "Acme Corp Updated", null, null, 3L)).thenReturn(Optional.empty());
+        when(policyRepository.findVersionById(id)).thenReturn(Optional.empty());
+
+        // When
+        Optional<Policy> result = policyService.updatePolicy(id, "Acme Corp Updated", null, null, 3L);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void shouldLeaveCoverageAggregatesUntouchedWhenOnlyNameChanges() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Policy existingPolicy = new Policy(id, "Acme Corp", LocalDate.of(2024, 12, 1), 100000.00);
+        Policy updatedPolicy = new Policy(id, "Acme Corp Updated", LocalDate.of(2024, 12, 31), 100000.00, 1);
+        when(policyRepository.update(id, "Acme Corp Updated", LocalDate.of(2024, 12, 31), null, null))
+            .thenReturn(Optional.of(new UpdatedPolicy(existingPolicy, updatedPolicy)));
+
+        // When
+        policyService.updatePolicy(id, "Acme Corp Updated", LocalDate.of(2024, 12, 31), null, null);
+
+        // Then
+        verifyNoInteractions(coverageAggregateRepository);
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
         // Given
         List<Policy> policies = List.of(
             new Policy(UUID.randomUUID(), "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00),
             new Policy(UUID.randomUUID(), "Globex Corp", LocalDate.of(2024, 12, 31), 200000.00)
         );
-        when(policyRepository.findAll()).thenReturn(policies);
+        when(policyRepository.findPage(any(PolicyFilter.class), isNull(), eq(PolicyService.DEFAULT_PAGE_SIZE + 1)))
+            .thenReturn(policies);
+
+        // When
+        PolicyPage result = policyService.getPolicies(PolicyFilter.none(), null, null);
+
+        // Then
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldContinueFromCursorOfPreviousPage() {
+        // Given
+        Policy first = new Policy(UUID.randomUUID(), "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+        Policy second = new Policy(UUID.randomUUID(), "Globex Corp", LocalDate.of(2024, 12, 31), 200000.00);
+        when(policyRepository.findPage(any(PolicyFilter.class), isNull(), eq(2)))
+            .thenReturn(List.of(first, second));
+        when(policyRepository.findPage(any(PolicyFilter.class), eq(first.getId()), eq(2)))
+            .thenReturn(List.of(second));
+
+        // When
+        PolicyPage firstPage = policyService.getPolicies(PolicyFilter.none(), null, 1);
+        PolicyPage secondPage = policyService.getPolicies(PolicyFilter.none(), firstPage.nextCursor(), 1);
+
+        // Then
+        assertThat(firstPage.items()).containsExactly(first);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(secondPage.items()).containsExactly(second);
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldCapPageSize() {
+        when(policyRepository.findPage(any(PolicyFilter.class), isNull(), eq(PolicyService.MAX_PAGE_SIZE + 1)))
+            .thenReturn(List.of());
+
+        PolicyPage result = policyService.getPolicies(PolicyFilter.none(), null, 100_000);
+
+        assertThat(result.items()).isEmpty();
+        verify(policyRepository).findPage(any(PolicyFilter.class), isNull(), eq(PolicyService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCursorIsInvalid() {
+        PolicyValidationException exception = assertThrows(
+            PolicyValidationException.class,
+            () -> policyService.getPolicies(PolicyFilter.none(), "not-a-cursor", null)
+        );
+        assertThat(exception.getMessage()).isEqualTo("Invalid cursor");
+    }
+
+    @Test
+    void shouldPageCoveragePeriodRangeFromPeriodAndIdOfLastPolicy() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        Policy first = new Policy(UUID.randomUUID(), "Acme Corp", LocalDate.of(2024, 1, 15), 100000.00);
+        Policy second = new Policy(UUID.randomUUID(), "Globex Corp", LocalDate.of(2024, 2, 15), 200000.00);
+        when(policyRepository.findByCoveragePeriod(from, to, null, null, 2))
+            .thenReturn(List.of(first, second));
+        when(policyRepository.findByCoveragePeriod(from, to, first.getCoveragePeriod(), first.getId(), 2))
+            .thenReturn(List.of(second));
+
+        // When
+        PolicyPage firstPage = policyService.getPoliciesByCoveragePeriod(from, to, null, 1);
+        PolicyPage secondPage = policyService.getPoliciesByCoveragePeriod(from, to, firstPage.nextCursor(), 1);
+
+        // Then
+        assertThat(firstPage.items()).containsExactly(first);
+        assertThat(secondPage.items()).containsExactly(second);
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectInvertedCoveragePeriodRangeAndListCursor() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        Policy policy = new Policy(UUID.randomUUID(), "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+        when(policyRepository.findPage(any(PolicyFilter.class), isNull(), eq(2)))
+            .thenReturn(List.of(policy, policy));
+        String listCursor = policyService.getPolicies(PolicyFilter.none(), null, 1).nextCursor();
+
+        PolicyValidationException inverted = assertThrows(
+            PolicyValidationException.class,
+            () -> policyService.getPoliciesByCoveragePeriod(to, from, null, null)
+        );
+        PolicyValidationException wrongCursor = assertThrows(
+            PolicyValidationException.class,
+            () -> policyService.getPoliciesByCoveragePeriod(from, to, listCursor, null)
+        );
+
+        assertThat(inverted.getMessage()).isEqualTo("Coverage period start must not be after end");
+        assertThat(wrongCursor.getMessage()).isEqualTo("Invalid cursor");
+        verify(policyRepository, never()).findByCoveragePeriod(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldSearchByTrimmedPrefixWithDefaultLimit() {
+        // Given
+        Policy policy = new Policy(UUID.randomUUID(), "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+        when(policyRepository.searchByBusinessName("acm", PolicySearchMode.PREFIX, PolicyService.DEFAULT_SEARCH_LIMIT))
+            .thenReturn(List.of(policy));
+
+        // When
+        List<Policy> result = policyService.searchPolicies(" acm ", null, null);
+
+        // Then
+        assertThat(result).containsExactly(policy);
+    }
+
+    @Test
+    void shouldRejectShortSubstringSearch() {
+        PolicyValidationException exception = assertThrows(
+            PolicyValidationException.class,
+            () -> policyService.searchPolicies("ac", PolicySearchMode.CONTAINS, 10)
+        );
+        assertThat(exception.getMessage())
+            .isEqualTo("Search term must be at least 3 characters for substring matching");
+        verifyNoInteractions(policyRepository);
+    }
+
+    @Test
+    void shouldSuggestFromDatabaseUntilNameIndexIsLoaded() {
+        // Given
+        when(policyRepository.findBusinessNamesByPrefix("ac", 5)).thenReturn(List.of("Acme Corp"));
+
+        // When
+        List<String> result = policyService.suggestBusinessNames("ac", 5);
+
+        // Then
+        assertThat(result).containsExactly("Acme Corp");
+    }
+
+    @Test
+    void shouldSuggestFromNameIndexOnceLoaded() {
+        // Given
+        properties.getNameIndex().setEnabled(true);
+        PolicyNameIndex nameIndex = new PolicyNameIndex(policyRepository, TransactionOperations.withoutTransaction(), properties);
+        policyService = new PolicyService(
+            policyRepository,
+            coverageAggregateRepository,
+            properties,
+            new PolicyCache(properties),
+            nameIndex,
+            new PolicyWriteBuffer(
+                policyRepository, coverageAggregateRepository, TransactionOperations.withoutTransaction(), properties),
+            new PolicyIdGenerator(properties),
+            new RecentPolicyWrites(properties),
+            eventPublisher
+        );
+        doAnswer(invocation -> {
+            Consumer<Policy> action = invocation.getArgument(1);
+            action.accept(new Policy("Acme Corp", LocalDate.of(2024, 12, 31), 100000.00));
+            action.accept(new Policy("Globex Corp", LocalDate.of(2024, 12, 31), 100000.00));
+            return null;
+        }).when(policyRepository).forEach(anyInt(), any());
+        nameIndex.load();
+        Policy acorn = new Policy("Acorn Ltd", LocalDate.of(2024, 12, 31), 100000.00);
+        when(policyRepository.save(any(Policy.class))).thenReturn(acorn);
+        policyService.createPolicy("Acorn Ltd", LocalDate.of(2024, 12, 31), 100000.00);
 
         // When
-        List<Policy> result = policyService.getAllPolicies();
+        List<String> result = policyService.suggestBusinessNames("AC", 10);
 
         // Then
-        assertThat(result).hasSize(2);
-        verify(policyRepository).findAll();
+        assertThat(result).containsExactly("Acme Corp", "Acorn Ltd");
+        verify(policyRepository, never()).findBusinessNamesByPrefix(any(), anyInt());
     }
 
     @Test
     void shouldDeleteExistingPolicy() {
         // Given
         UUID id = UUID.randomUUID();
-        when(policyRepository.findById(id)).thenReturn(Optional.of(new Policy()));
-        doNothing().when(policyRepository).deleteById(id);
+        Policy existingPolicy = new Policy(id, "Acme Corp", LocalDate.of(2024, 12, 31), 100000.00);
+        when(policyRepository.deleteById(id)).thenReturn(Optional.of(existingPolicy));
 
         // When
         boolean result = policyService.deletePolicy(id);
 
         // Then
         assertThat(result).isTrue();
-        verify(policyRepository).deleteById(id);
+        verify(policyRepository, never()).findById(id);
+        verify(coverageAggregateRepository).add(LocalDate.of(2024, 12, 31), -1, -100000.00);
+        verify(eventPublisher).publishEvent(argThat((PolicyChangeEvent event) ->
+            event.type() == PolicyChangeType.DELETED && id.equals(event.policyId())));
+    }
+
+    @Test
+    void shouldReportMissingPolicyOnDelete() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(policyRepository.deleteById(id)).thenReturn(Optional.empty());
+
+        // When
+        boolean result = policyService.deletePolicy(id);
+
+        // Then
+        assertThat(result).isFalse();
+        verifyNoInteractions(coverageAggregateRepository, eventPublisher);
+    }
+
+    @Test
+    void shouldReportConflictWhenPolicyMovedPartitionDuringDelete() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(policyRepository.deleteById(id)).thenThrow(
+            movedToAnotherPartition());
+
+        // When / Then
+        assertThrows(PolicyConflictException.class, () -> policyService.deletePolicy(id));
+        verifyNoInteractions(coverageAggregateRepository, eventPublisher);
     }
 
     @Test
@@ -156,7 +706,7 @@ class PolicyServiceTest {
         UUID id = UUID.randomUUID();
         PolicyValidationException exception = assertThrows(
             PolicyValidationException.class,
-            () -> policyService.updatePolicy(id, null, null, null)
+            () -> policyService.updatePolicy(id, null, null, null, null)
         );
         assertThat(exception.getMessage()).isEqualTo("At least one field must be provided for update");
     }
@@ -165,7 +715,7 @@ class PolicyServiceTest {
     void shouldThrowExceptionWhenUpdatingPolicyWithNullId() {
         PolicyValidationException exception = assertThrows(
             PolicyValidationException.class,
-            () -> policyService.updatePolicy(null, "Acme Corp", null, null)
+            () -> policyService.updatePolicy(null, "Acme Corp", null, null, null)
         );
         assertThat(exception.getMessage()).isEqualTo("Policy ID cannot be null");
     }
@@ -175,7 +725,7 @@ class PolicyServiceTest {
         UUID id = UUID.randomUUID();
         PolicyValidationException exception = assertThrows(
             PolicyValidationException.class,
-            () -> policyService.updatePolicy(id, null, null, -1.0)
+            () -> policyService.updatePolicy(id, null, null, -1.0, null)
         );
         assertThat(exception.getMessage()).isEqualTo("Coverage amount must be greater than zero");
     }
@@ -197,4 +747,9 @@ class PolicyServiceTest {
         );
         assertThat(exception.getMessage()).isEqualTo("Policy ID cannot be null");
     }
-} 
\ No newline at end of file
+
+    private static PessimisticLockingFailureException movedToAnotherPartition() {
+        String message = "tuple to be locked was already moved to another partition due to concurrent update";
+        return new PessimisticLockingFailureException(message, new SQLException(message, "40001"));
+    }
+}
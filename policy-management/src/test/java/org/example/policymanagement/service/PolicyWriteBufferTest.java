@@ -0,0 +1,165 @@
+package org.example.policymanagement.service;
+
+import org.example.policymanagement.config.PolicyProperties;
+import org.example.policymanagement.model.Policy;
+import org.example.policymanagement.repository.CoverageAggregateRepository;
+import org.example.policymanagement.repository.PolicyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolicyWriteBufferTest {
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    @Mock
+    private CoverageAggregateRepository coverageAggregateRepository;
+
+    private PolicyProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PolicyProperties();
+        properties.getWriteBuffer().setEnabled(true);
+    }
+
+    @Test
+    void shouldCompleteEveryInsertThatRacesClose() throws Exception {
+        // Given
+        properties.getWriteBuffer().setMaxBatchSize(8);
+        properties.getWriteBuffer().setMaxDelay(Duration.ofMillis(1));
+        lenient().when(policyRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(policyRepository.save(any(Policy.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        for (int round = 0; round < 50; round++) {
+            PolicyWriteBuffer writeBuffer = newWriteBuffer();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Policy>> futures = new ArrayList<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+                for (int i = 0; i < 32; i++) {
+                    Policy policy = new Policy("Racing Corp " + i, LocalDate.of(2024, 12, 31), 1000.00);
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return writeBuffer.insert(policy);
+                    }));
+                }
+
+                // When
+                start.countDown();
+                writeBuffer.close();
+
+                // Then
+                for (Future<Policy> future : futures) {
+                    assertThat(future.get(10, TimeUnit.SECONDS)).isNotNull();
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldFailOnlyTheBadInsertWhenItsBatchFails() throws Exception {
+        // Given
+        properties.getWriteBuffer().setMaxBatchSize(3);
+        properties.getWriteBuffer().setMaxDelay(Duration.ofSeconds(5));
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("value too long");
+        when(policyRepository.insertAll(anyList())).thenThrow(violation);
+        when(policyRepository.save(any(Policy.class))).thenAnswer(invocation -> {
+            Policy policy = invocation.getArgument(0);
+            if (policy.getBusinessName().startsWith("Bad")) {
+                throw violation;
+            }
+            return policy;
+        });
+        PolicyWriteBuffer writeBuffer = newWriteBuffer();
+
+        // When
+        List<Future<Policy>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            for (String businessName : List.of("Good Corp", "Bad Corp", "Fine Corp")) {
+                Policy policy = new Policy(businessName, LocalDate.of(2024, 12, 31), 1000.00);
+                futures.add(executor.submit(() -> writeBuffer.insert(policy)));
+            }
+
+            // Then
+            assertThat(futures.get(0).get(10, TimeUnit.SECONDS).getBusinessName()).isEqualTo("Good Corp");
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> futures.get(1).get(10, TimeUnit.SECONDS));
+            assertThat(failure.getCause()).isSameAs(violation);
+            assertThat(futures.get(2).get(10, TimeUnit.SECONDS).getBusinessName()).isEqualTo("Fine Corp");
+        } finally {
+            writeBuffer.close();
+        }
+        verify(policyRepository).insertAll(argThat(policies -> policies.size() == 3));
+        verify(policyRepository, times(3)).save(any(Policy.class));
+    }
+
+    @Test
+    void shouldReturnPolicyAsStoredByTheGroupCommit() throws Exception {
+        // Given
+        properties.getWriteBuffer().setMaxBatchSize(1);
+        when(policyRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Policy> policies = invocation.getArgument(0);
+            return policies.stream()
+                .map(policy -> new Policy(
+                    policy.getId(), policy.getBusinessName(), policy.getCoveragePeriod(), policy.getCoverageAmount(), 3))
+                .toList();
+        });
+        PolicyWriteBuffer writeBuffer = newWriteBuffer();
+
+        // When
+        Policy saved;
+        try {
+            saved = writeBuffer.insert(new Policy("Stored Corp", LocalDate.of(2024, 12, 31), 1000.00));
+        } finally {
+            writeBuffer.close();
+        }
+
+        // Then
+        assertThat(saved.getVersion()).isEqualTo(3);
+        verify(coverageAggregateRepository).addAll(argThat(policies -> policies.get(0).getVersion() == 3));
+    }
+
+    @Test
+    void shouldLeaveInsertToCallerWhenBufferIsDisabled() throws Exception {
+        // Given
+        properties.getWriteBuffer().setEnabled(false);
+        PolicyWriteBuffer writeBuffer = newWriteBuffer();
+
+        // When
+        Optional<Policy> saved = writeBuffer.insertBuffered(new Policy("Direct Corp", LocalDate.of(2024, 12, 31), 1000.00));
+
+        // Then
+        assertThat(saved).isEmpty();
+        verifyNoInteractions(policyRepository, coverageAggregateRepository);
+        writeBuffer.close();
+    }
+
+    private PolicyWriteBuffer newWriteBuffer() {
+        return new PolicyWriteBuffer(
+            policyRepository, coverageAggregateRepository, TransactionOperations.withoutTransaction(), properties);
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.policymanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.example.policymanagement.dto.PolicyChangeEvent;
+import org.example.policymanagement.model.Policy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresChangeRelayTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PolicyChangeFeed policyChangeFeed;
+
+    @Mock
+    private PolicyCache policyCache;
+
+    private PostgresChangeRelay relay;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (relay != null) {
+            relay.stop();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldSendATransactionsChangesTogetherBeforeCommit() throws Exception {
+        // Given
+        relay = new PostgresChangeRelay(jdbcTemplate, dataSource, objectMapper, policyChangeFeed, policyCache);
+        TransactionSynchronizationManager.initSynchronization();
+        List<PolicyChangeEvent> events = IntStream.range(0, 100)
+            .mapToObj(i -> PolicyChangeEvent.created(
+                new Policy(UUID.randomUUID(), "Relay Corp " + i, LocalDate.of(2024, 12, 31), 1000.00)))
+            .toList();
+
+        // When
+        events.forEach(relay::onPolicyChanged);
+        verifyNoInteractions(jdbcTemplate);
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(PostgresChangeRelay.CHANNEL), payloads.capture());
+        String[] notifications = objectMapper.readValue(payloads.getValue(), String[].class);
+        assertThat(notifications.length).isGreaterThan(1).isLessThan(events.size());
+        List<UUID> relayed = new ArrayList<>();
+        for (String notification : notifications) {
+            assertThat(notification.getBytes(StandardCharsets.UTF_8).length)
+                .isLessThanOrEqualTo(PostgresChangeRelay.MAX_PAYLOAD_BYTES + 2);
+            for (PolicyChangeEvent event : objectMapper.readValue(notification, PolicyChangeEvent[].class)) {
+                relayed.add(event.policyId());
+            }
+        }
+        assertThat(relayed).containsExactlyElementsOf(events.stream().map(PolicyChangeEvent::policyId).toList());
+        assertThat(TransactionSynchronizationManager.getResource(relay)).isNull();
+    }
+
+    @Test
+    void shouldResetFeedAndCacheAfterReconnectingAndRelayEveryChangeInANotification() throws Exception {
+        // Given
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        PGNotification notification = mock(PGNotification.class);
+        List<PolicyChangeEvent> events = List.of(
+            PolicyChangeEvent.deleted(UUID.randomUUID()),
+            PolicyChangeEvent.deleted(UUID.randomUUID())
+        );
+        when(notification.getParameter()).thenReturn(objectMapper.writeValueAsString(events));
+        when(dataSource.getConnection()).thenThrow(new SQLException("connection refused")).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(anyInt())).thenReturn(new PGNotification[] {notification}, (PGNotification[]) null);
+        relay = new PostgresChangeRelay(jdbcTemplate, dataSource, objectMapper, policyChangeFeed, policyCache);
+
+        // When
+        relay.start();
+
+        // Then
+        verify(policyCache, timeout(5_000)).invalidateAll();
+        verify(policyChangeFeed, timeout(5_000)).reset();
+        verify(policyChangeFeed, timeout(5_000)).append(events.get(0));
+        verify(policyChangeFeed, timeout(5_000)).append(events.get(1));
+        verify(policyCache).invalidate(events.get(0).policyId());
+        verify(policyCache).invalidate(events.get(1).policyId());
+    }
+}
@@ -0,0 +1,133 @@
+package summation;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Sums an {@code int[]} into a {@code long}, the bulk form of LoopingExample's loop. Every path
+ * widens before adding, so the result cannot overflow for any array Java can allocate (at most
+ * 2^31 values of magnitude at most 2^31).
+ *
+ * <p>{@link #sum} picks a path by size: the scalar loop for short arrays, the SIMD kernel when
+ * {@code jdk.incubator.vector} is present, and fork/join over SIMD or scalar leaves for large
+ * arrays. The vector module is optional at runtime; add it with
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+public final class ArraySummation {
+
+    static final int VECTOR_THRESHOLD = 64;
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+    private static final int MIN_LEAF_SIZE = 1 << 16;
+
+    private static final boolean VECTOR_AVAILABLE =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private ArraySummation() {
+    }
+
+    public static long sum(int[] values) {
+        if (values.length >= PARALLEL_THRESHOLD) {
+            return sumParallel(values);
+        }
+        if (VECTOR_AVAILABLE && values.length >= VECTOR_THRESHOLD) {
+            return sumVector(values);
+        }
+        return sumScalar(values);
+    }
+
+    public static long sumScalar(int[] values) {
+        return scalar(values, 0, values.length);
+    }
+
+    /** The SIMD kernel, or the scalar loop when {@code jdk.incubator.vector} is not present. */
+    public static long sumVector(int[] values) {
+        if (!VECTOR_AVAILABLE) {
+            return sumScalar(values);
+        }
+        return VectorKernel.sum(values, 0, values.length);
+    }
+
+    public static long sumParallel(int[] values) {
+        int leafSize = Math.max(MIN_LEAF_SIZE, values.length / (ForkJoinPool.getCommonPoolParallelism() * 4));
+        return sumParallel(values, leafSize);
+    }
+
+    // Package-private so tests can force many uneven splits on a small array.
+    static long sumParallel(int[] values, int leafSize) {
+        return ForkJoinPool.commonPool().invoke(new SumTask(values, 0, values.length, leafSize));
+    }
+
+    public static boolean isVectorAvailable() {
+        return VECTOR_AVAILABLE;
+    }
+
+    private static long scalar(int[] values, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    private static final class SumTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] values;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        SumTask(int[] values, int from, int to, int leafSize) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= leafSize) {
+                return VECTOR_AVAILABLE ? VectorKernel.sum(values, from, to) : scalar(values, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SumTask left = new SumTask(values, from, middle, leafSize);
+            left.fork();
+            long right = new SumTask(values, middle, to, leafSize).compute();
+            return left.join() + right;
+        }
+    }
+
+    // Kept in its own class so the incubator types are only loaded when the module is present.
+    // Each int vector is widened into two long vectors of the same bit size before it is added.
+    private static final class VectorKernel {
+        private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+        private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+        static long sum(int[] values, int from, int to) {
+            LongVector low = LongVector.zero(LONGS);
+            LongVector high = LongVector.zero(LONGS);
+            int i = from;
+            int upperBound = from + INTS.loopBound(to - from);
+            for (; i < upperBound; i += INTS.length()) {
+                IntVector chunk = IntVector.fromArray(INTS, values, i);
+                low = low.add((LongVector) chunk.convertShape(VectorOperators.I2L, LONGS, 0));
+                high = high.add((LongVector) chunk.convertShape(VectorOperators.I2L, LONGS, 1));
+            }
+            long sum = low.add(high).reduceLanes(VectorOperators.ADD);
+            for (; i < to; i++) {
+                sum += values[i];
+            }
+            return sum;
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] numToSum = new int[]{651534, 416316, 40753, 374021, 299747, 643472322, 424510163, 606323292, 598557252};
+        System.out.println("The Sum of all of the numbers are: " + sum(numToSum));
+    }
+}
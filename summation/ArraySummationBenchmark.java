@@ -0,0 +1,71 @@
+package summation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares each {@link ArraySummation} path across array sizes to show where SIMD and fork/join
+ * start paying for themselves. {@code dispatch} is the size-based choice {@link ArraySummation#sum}
+ * makes. Build and run from the repository root with the JMH 1.37 jars on the class path:
+ *
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -cp jmh-core.jar:jmh-generator-annprocess.jar \
+ *     -d build/summation summation/*.java
+ * java --add-modules jdk.incubator.vector -cp build/summation:jmh-core.jar:jopt-simple.jar:commons-math3.jar \
+ *     org.openjdk.jmh.Main summation -rf json -rff build/summation/results.json
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ArraySummationBenchmark {
+
+    @Param({"16", "1024", "65536", "1048576", "16777216"})
+    int size;
+
+    private int[] values;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public long scalar() {
+        return ArraySummation.sumScalar(values);
+    }
+
+    @Benchmark
+    public long vector() {
+        return ArraySummation.sumVector(values);
+    }
+
+    @Benchmark
+    public long parallel() {
+        return ArraySummation.sumParallel(values);
+    }
+
+    @Benchmark
+    public long dispatch() {
+        return ArraySummation.sum(values);
+    }
+}
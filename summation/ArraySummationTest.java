@@ -0,0 +1,79 @@
+package summation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Checks that the SIMD and fork/join paths of {@link ArraySummation} agree with the scalar loop,
+ * including lengths that leave a tail after the last full vector. Lengths up to 257 cover a
+ * partial tail for every lane count up to 64 ints. Arrays above the parallel threshold, and small
+ * arrays summed with tiny leaves, check the fork/join split and join. Run from the repository root:
+ *
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -d build/summation summation/ArraySummation.java \
+ *     summation/ArraySummationTest.java
+ * java --add-modules jdk.incubator.vector -cp build/summation summation.ArraySummationTest
+ * </pre>
+ *
+ * Without {@code --add-modules} at run time it checks that the vector path falls back to the
+ * scalar loop instead.
+ */
+public final class ArraySummationTest {
+
+    private ArraySummationTest() {
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int length = 0; length <= 257; length++) {
+            check(randomValues(random, length));
+            check(filled(length, Integer.MAX_VALUE));
+            check(filled(length, Integer.MIN_VALUE));
+        }
+        checkSplits(randomValues(random, 10_007));
+        checkSplits(filled(10_007, Integer.MAX_VALUE));
+        checkSplits(filled(10_007, Integer.MIN_VALUE));
+        check(randomValues(random, ArraySummation.PARALLEL_THRESHOLD + 13));
+        check(randomValues(random, ArraySummation.PARALLEL_THRESHOLD * 8 + 7));
+        check(filled(ArraySummation.PARALLEL_THRESHOLD * 4 + 3, Integer.MAX_VALUE));
+        System.out.println("Vector " + (ArraySummation.isVectorAvailable() ? "available" : "not available")
+            + "; all paths match the scalar sum");
+    }
+
+    private static void check(int[] values) {
+        long expected = ArraySummation.sumScalar(values);
+        expect("sumVector", values.length, expected, ArraySummation.sumVector(values));
+        expect("sumParallel", values.length, expected, ArraySummation.sumParallel(values));
+        expect("sum", values.length, expected, ArraySummation.sum(values));
+    }
+
+    // Leaves this small split the array hundreds of times at odd boundaries, so every fork and join
+    // is exercised whatever the pool's parallelism.
+    private static void checkSplits(int[] values) {
+        long expected = ArraySummation.sumScalar(values);
+        for (int leafSize : new int[]{1, 7, 100, 4_099}) {
+            expect("sumParallel with leaves of " + leafSize, values.length, expected,
+                ArraySummation.sumParallel(values, leafSize));
+        }
+    }
+
+    private static void expect(String path, int length, long expected, long actual) {
+        if (actual != expected) {
+            throw new AssertionError(path + " of " + length + " values returned " + actual + ", expected " + expected);
+        }
+    }
+
+    private static int[] randomValues(SplittableRandom random, int length) {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextInt();
+        }
+        return values;
+    }
+
+    private static int[] filled(int length, int value) {
+        int[] values = new int[length];
+        Arrays.fill(values, value);
+        return values;
+    }
+}